@@ -0,0 +1,117 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Baseline Comparison - Benchmarks
+ * Compares JMH results ({@code -rf json}) against a saved baseline. Exits with status 1 when a benchmark
+ * got slower by more than the threshold and the two runs' error margins do not overlap, so it can gate a build.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline> <current> [threshold-percent, default 10]}; each path is a
+ * result file or a directory of result files (for example one per thread count).
+ */
+public final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> PARAMS = new TypeReference<>() {
+    };
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline> <current> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %16s %16s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null || !before.unit().equals(now.unit()) || !before.mode().equals(now.mode())) {
+                System.out.printf("%-80s %16s %16s %9s%n", entry.getKey(), "-", now.format(), "new");
+                continue;
+            }
+            // Positive means worse: more time per operation, or fewer operations per unit of time
+            double change = (now.score() - before.score()) / before.score() * 100 * (now.higherIsBetter() ? -1 : 1);
+            boolean beyondNoise = now.higherIsBetter()
+                    ? now.score() + now.error() < before.score() - before.error()
+                    : now.score() - now.error() > before.score() + before.error();
+            boolean regressed = change > threshold && beyondNoise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %16s %16s %+8.1f%%%s%n", entry.getKey(), before.format(), now.format(),
+                    change, regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-80s %16s %16s %9s%n", key, baseline.get(key).format(), "-", "missing"));
+
+        System.out.printf("%n%d regression(s) beyond %.0f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> listing = Files.list(path)) {
+                files = listing.filter(file -> file.toString().endsWith(".json")).sorted().toList();
+            }
+        } else {
+            files = List.of(path);
+        }
+        Map<String, Result> results = new TreeMap<>();
+        for (Path file : files) {
+            for (JsonNode run : MAPPER.readTree(file.toFile())) {
+                JsonNode metric = run.path("primaryMetric");
+                results.put(key(run), new Result(run.path("mode").asText(), metric.path("score").asDouble(),
+                        metric.path("scoreError").asDouble(0), metric.path("scoreUnit").asText()));
+            }
+        }
+        return results;
+    }
+
+    /** Benchmark method, parameters and thread count: one row per comparable measurement */
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                .replace("com.aliunal.todoservice.benchmarks.", ""));
+        // Benchmarks without @Param have no params, which converts to null
+        Map<String, String> params = MAPPER.convertValue(run.path("params"), PARAMS);
+        if (params != null) {
+            new TreeMap<>(params).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        }
+        return key.append(" t=").append(run.path("threads").asInt(1)).toString();
+    }
+
+    private record Result(String mode, double score, double error, String unit) {
+
+        Result {
+            // JMH reports NaN when there are too few iterations to estimate the error
+            error = Double.isNaN(error) ? 0 : error;
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        String format() {
+            return String.format("%.2f %s", score, unit);
+        }
+    }
+}
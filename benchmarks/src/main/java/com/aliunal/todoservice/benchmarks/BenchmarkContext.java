@@ -0,0 +1,91 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.TodoServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark Context - Benchmarks
+ * Boots the application, without or with a web server, against a private in-memory database
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /** Start the application context backed by an in-memory H2 database with the given name */
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return verified(new SpringApplicationBuilder(TodoServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(overrides(Stream.concat(Stream.of(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.jpa.show-sql=false",
+                        "app.search.index-path=",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN"), Arrays.stream(properties)).toArray(String[]::new))),
+                properties);
+    }
+
+    /** Start the full web stack on a random port, backed by an in-memory H2 database with the given name */
+    static ConfigurableApplicationContext startServer(String databaseName, String... properties) {
+        return verified(new SpringApplicationBuilder(TodoServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .run(overrides(Stream.concat(Stream.of(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.jpa.show-sql=false",
+                        "app.search.index-path=",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN"), Arrays.stream(properties)).toArray(String[]::new))),
+                properties);
+    }
+
+    /**
+     * Properties as command-line arguments, which take precedence over application.yml
+     * (default properties set on the builder do not, and would leave the file database in use)
+     */
+    static String[] overrides(String... properties) {
+        for (String property : properties) {
+            if (property.indexOf('=') <= 0) {
+                throw new IllegalArgumentException("Benchmark override must be key=value: '" + property + "'");
+            }
+        }
+        return Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new);
+    }
+
+    /**
+     * Fail fast unless the started context actually uses the in-memory database and the given overrides;
+     * an override that loses against application.yml would otherwise silently measure the wrong setup.
+     * The overrides are already checked for the key=value form by {@link #overrides}
+     */
+    static ConfigurableApplicationContext verified(ConfigurableApplicationContext context, String... properties) {
+        Environment environment = context.getEnvironment();
+        List<String> ignored = new ArrayList<>();
+        if (!environment.getProperty("spring.datasource.url", "").startsWith("jdbc:h2:mem:")) {
+            ignored.add("spring.datasource.url");
+        }
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            String key = property.substring(0, separator);
+            if (!property.substring(separator + 1).equals(environment.getProperty(key))) {
+                ignored.add(key);
+            }
+        }
+        if (!ignored.isEmpty()) {
+            context.close();
+            throw new IllegalStateException("Benchmark overrides not in effect: " + ignored);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,387 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load Generator - Benchmarks
+ * Open-model HTTP load against the todo API: requests start at a constant arrival rate whether or not
+ * earlier ones have finished, so an overloaded server shows up as latency rather than as a lower request
+ * rate. Latency is measured from each request's scheduled start (no coordinated omission) and recorded in
+ * an HdrHistogram per operation. Synthetic users sign up through {@code /api/v1/auth/register}.
+ *
+ * <pre>java -cp target/benchmarks.jar com.aliunal.todoservice.benchmarks.LoadGenerator [--option=value ...]</pre>
+ * Options and defaults: {@code target} (none: boot the service in this JVM on a random port with an
+ * in-memory database), {@code rate=200} requests per second, {@code warmup=10s}, {@code duration=60s},
+ * {@code users=50}, {@code seed-todos=20} per user,
+ * {@code mix=list:60,create:15,update:10,toggle:10,delete:5}, {@code max-in-flight=5000} (further
+ * arrivals are dropped and counted), {@code report=results/load-report.txt}.
+ */
+public final class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PASSWORD = "load-test-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // Microseconds; one hour is far beyond the request timeout
+    private static final long HIGHEST_LATENCY = 3_600_000_000L;
+
+    private enum Operation {
+        LIST, CREATE, UPDATE, TOGGLE, DELETE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        int userCount = Integer.parseInt(options.getOrDefault("users", "50"));
+        int seedTodos = Integer.parseInt(options.getOrDefault("seed-todos", "20"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "list:60,create:15,update:10,toggle:10,delete:5"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "5000"));
+        Path report = Path.of(options.getOrDefault("report", "results/load-report.txt"));
+
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        if (target == null) {
+            context = BenchmarkContext.startServer("load-generator");
+            target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(target);
+            List<User> users = generator.signUp(userCount, seedTodos);
+            System.out.printf("%d users signed up at %s; %d requests/s for %s after %s warm-up%n",
+                    users.size(), target, rate, duration, warmup);
+            double elapsedSeconds = generator.drive(users, mix, rate, warmup, duration, maxInFlight);
+
+            String header = String.format("Todo service load test, %s%ntarget %s%s, rate %d/s, warm-up %s, duration %s, "
+                            + "users %d, mix %s, max in flight %d%n", Instant.now(), target,
+                    context != null ? " (in-process)" : "", rate, warmup, duration, users.size(), mix, maxInFlight);
+            String summary = generator.summary(elapsedSeconds);
+            System.out.println();
+            System.out.print(summary);
+            generator.writeReport(report, header, summary);
+            System.out.println("Report written to " + report.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /** Register the users and give each one a starting set of todos */
+    private List<User> signUp(int count, int seedTodos) throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Map<String, Object>> seed = new ArrayList<>(seedTodos);
+        for (int i = 0; i < seedTodos; i++) {
+            seed.add(Map.of("title", "Seed todo " + i, "description", "Created before the load test", "priority",
+                    i % 3 == 0 ? "HIGH" : "MEDIUM"));
+        }
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("load-" + run + "-" + i + "@example.com");
+            HttpResponse<String> registered;
+            // Registrations beyond the password hashing pool are answered with 503; wait and retry
+            while ((registered = post("/api/v1/auth/register", null, Map.of("email", user.email,
+                    "username", "load" + i, "password", PASSWORD))).statusCode() == 503) {
+                Thread.sleep(100);
+            }
+            if (registered.statusCode() != 201) {
+                throw new IllegalStateException("Registration failed with " + registered.statusCode() + ": " + registered.body());
+            }
+            user.token = MAPPER.readTree(registered.body()).path("accessToken").asText();
+            if (seedTodos > 0) {
+                HttpResponse<String> created = post("/api/v1/todos/bulk", user.token, Map.of("todos", seed));
+                for (JsonNode todo : MAPPER.readTree(created.body())) {
+                    user.todoIds.add(todo.path("id").asLong());
+                }
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    /** Issue requests at the given rate; returns the length of the measured period in seconds */
+    private double drive(List<User> users, Mix mix, int rate, Duration warmup, Duration duration, int maxInFlight) {
+        double interval = 1_000_000_000.0 / rate;
+        long begin = System.nanoTime();
+        long measureFrom = begin + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = begin + (long) (i * interval);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = scheduled >= measureFrom;
+                if (inFlight.get() >= maxInFlight) {
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Operation operation = mix.next(random);
+                User user = users.get(random.nextInt(users.size()));
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        execute(operation, user, scheduled, measured);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+        // Requests still running at the end are waited for above; the rate is over the scheduled period
+        return duration.toNanos() / 1e9;
+    }
+
+    private void execute(Operation operation, User user, long scheduled, boolean measured) {
+        Long todoId = null;
+        Operation performed = operation;
+        if (operation == Operation.UPDATE || operation == Operation.TOGGLE || operation == Operation.DELETE) {
+            // A todo is taken out of the user's pool while in use, so no two requests race on it
+            todoId = operation == Operation.DELETE ? user.todoIds.pollLast() : user.todoIds.pollFirst();
+            if (todoId == null) {
+                performed = Operation.CREATE;
+            }
+        }
+        boolean ok;
+        try {
+            HttpResponse<String> response = switch (performed) {
+                case LIST -> send(user, request("/api/v1/todos").GET());
+                case CREATE -> send(user, request("/api/v1/todos").POST(json(Map.of("title", "Load todo",
+                        "description", "Created under load", "priority", "LOW"))));
+                case UPDATE -> send(user, request("/api/v1/todos/" + todoId).PUT(json(Map.of("title", "Updated under load",
+                        "priority", "HIGH"))));
+                case TOGGLE -> send(user, request("/api/v1/todos/" + todoId + "/toggle")
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+                case DELETE -> send(user, request("/api/v1/todos/" + todoId).DELETE());
+            };
+            ok = response.statusCode() / 100 == 2;
+            if (ok && performed == Operation.CREATE) {
+                user.todoIds.addLast(MAPPER.readTree(response.body()).path("id").asLong());
+            } else if (todoId != null && performed != Operation.DELETE && ok) {
+                user.todoIds.addLast(todoId);
+            }
+        } catch (Exception e) {
+            ok = false;
+        }
+        if (!measured) {
+            return;
+        }
+        Stats recorded = stats.get(performed);
+        if (ok) {
+            recorded.latency.recordValue(Math.min((System.nanoTime() - scheduled) / 1_000, HIGHEST_LATENCY));
+        } else {
+            recorded.errors.increment();
+        }
+    }
+
+    /** Send with the user's token, logging in again once if it has expired */
+    private HttpResponse<String> send(User user, HttpRequest.Builder builder) throws IOException, InterruptedException {
+        String token = user.token;
+        HttpResponse<String> response = http.send(builder.copy().header("Authorization", "Bearer " + token).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 401) {
+            user.refresh(token);
+            response = http.send(builder.header("Authorization", "Bearer " + user.token).build(),
+                    HttpResponse.BodyHandlers.ofString());
+        }
+        return response;
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(path).POST(json(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    private static HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private String summary(double seconds) {
+        StringBuilder summary = new StringBuilder(String.format("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Histogram all = new Histogram(HIGHEST_LATENCY, 3);
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            Stats recorded = stats.get(operation);
+            all.add(recorded.latency);
+            errors += recorded.errors.sum();
+            summary.append(row(operation.label(), recorded.latency, recorded.errors.sum(), seconds));
+        }
+        summary.append(row("all", all, errors, seconds));
+        summary.append(String.format("dropped (max in flight reached): %d%n", dropped.sum()));
+        return summary.toString();
+    }
+
+    private static String row(String label, Histogram latency, long errors, double seconds) {
+        return String.format("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, latency.getTotalCount(), errors,
+                (latency.getTotalCount() + errors) / seconds, millis(latency, 50), millis(latency, 90),
+                millis(latency, 99), millis(latency, 99.9), latency.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Summary followed by each operation's full percentile distribution (HdrHistogram text format, ms) */
+    private void writeReport(Path report, String header, String summary) throws IOException {
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report))) {
+            out.print(header);
+            out.println();
+            out.print(summary);
+            for (Operation operation : Operation.values()) {
+                Histogram latency = stats.get(operation).latency;
+                if (latency.getTotalCount() > 0) {
+                    out.printf("%n== %s ==%n", operation.label());
+                    latency.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static final class Stats {
+
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final class User {
+
+        final String email;
+        final Deque<Long> todoIds = new ConcurrentLinkedDeque<>();
+        volatile String token;
+
+        User(String email) {
+            this.email = email;
+        }
+
+        /** Log in again unless another request already replaced the expired token */
+        synchronized void refresh(String expired) throws IOException, InterruptedException {
+            if (!expired.equals(token)) {
+                return;
+            }
+            HttpResponse<String> login = post("/api/v1/auth/login", null, Map.of("email", email, "password", PASSWORD));
+            if (login.statusCode() == 200) {
+                token = MAPPER.readTree(login.body()).path("accessToken").asText();
+            }
+        }
+    }
+
+    /** Weighted choice of operations, e.g. {@code list:60,create:15,update:10,toggle:10,delete:5} */
+    private record Mix(Operation[] operations, int[] cumulativeWeights, String spec) {
+
+        static Mix parse(String spec) {
+            String[] parts = spec.split(",");
+            Operation[] operations = new Operation[parts.length];
+            int[] cumulative = new int[parts.length];
+            int total = 0;
+            for (int i = 0; i < parts.length; i++) {
+                String[] entry = parts[i].trim().split(":");
+                operations[i] = Operation.valueOf(entry[0].trim().toUpperCase(Locale.ROOT));
+                total += Integer.parseInt(entry[1].trim());
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Mix needs a positive total weight: " + spec);
+            }
+            return new Mix(operations, cumulative, spec);
+        }
+
+        Operation next(ThreadLocalRandom random) {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoRepository;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read Path Benchmark - Benchmarks
+ * Compares hydrating managed Todo entities and copying them into TodoResponse
+ * against selecting straight into TodoResponse. Run with {@code -prof gc} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ReadPathBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100", "1000", "10000"})
+    public int todoCount;
+
+    private ConfigurableApplicationContext context;
+    private JpaTodoRepository repository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("read-path-" + todoCount);
+        repository = context.getBean(JpaTodoRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        Priority[] priorities = Priority.values();
+        List<Todo> todos = new ArrayList<>(todoCount);
+        for (int i = 0; i < todoCount; i++) {
+            Todo todo = new Todo("Todo " + i, "Benchmark todo number " + i, priorities[i % priorities.length], USER_ID);
+            if (i % 3 == 0) {
+                todo.markAsDone();
+            }
+            todos.add(todo);
+        }
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> repository.saveAll(todos));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Previous read path: load managed entities, then copy into the response DTO */
+    @Benchmark
+    public List<TodoResponse> listEntities() {
+        return readOnly.execute(status -> repository.findByUserId(USER_ID).stream()
+                .map(TodoResponse::from)
+                .toList());
+    }
+
+    /** Projection read path: constructor expression straight into the response DTO */
+    @Benchmark
+    public List<TodoResponse> listProjection() {
+        return readOnly.execute(status -> repository.findResponsesByUserId(USER_ID));
+    }
+
+    /** First keyset page through managed entities */
+    @Benchmark
+    public List<TodoResponse> pageEntities() {
+        return readOnly.execute(status -> repository.findByUserIdOrderByCreatedAtAscIdAsc(USER_ID, Limit.of(PAGE_SIZE)).stream()
+                .map(TodoResponse::from)
+                .toList());
+    }
+
+    /** First keyset page through the projection */
+    @Benchmark
+    public List<TodoResponse> pageProjection() {
+        return readOnly.execute(status -> repository.findResponsePageByUserId(USER_ID, Limit.of(PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.infrastructure.search.LuceneTodoSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Search Benchmark - Benchmarks
+ * Full-text search latency of the Lucene todo index over a generated table (default one million todos)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+        "buy", "call", "write", "review", "fix", "plan", "book", "clean", "send", "prepare",
+        "groceries", "report", "dentist", "invoice", "garden", "meeting", "flight", "laundry", "presentation", "budget",
+        "bread", "milk", "team", "client", "car", "tax", "birthday", "gift", "kitchen", "backup"
+    };
+
+    @Param({"1000000"})
+    public int todoCount;
+
+    /** Todos per user; the per-user searches filter down to one of them */
+    @Param({"100"})
+    public int todosPerUser;
+
+    private Path indexPath;
+    private LuceneTodoSearchIndex index;
+    private long userCount;
+    private long nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        indexPath = Files.createTempDirectory("todo-search-benchmark");
+        index = new LuceneTodoSearchIndex(indexPath.toString());
+        userCount = Math.max(1, todoCount / todosPerUser);
+
+        SplittableRandom random = new SplittableRandom(42);
+        Stream<TodoSearchDocument> documents = LongStream.rangeClosed(1, todoCount)
+                .mapToObj(id -> new TodoSearchDocument(id, id % userCount,
+                        sentence(random, 3), sentence(random, 8), random.nextInt(3) == 0));
+        index.rebuild(documents);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        try (Stream<Path> files = Files.walk(indexPath)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /** One user's todos, single term */
+    @Benchmark
+    public List<Long> userSingleTerm() {
+        return index.search(nextUser(), "report", null, 200);
+    }
+
+    /** One user's todos, two terms combined with AND, open todos only */
+    @Benchmark
+    public List<Long> userTwoTermsOpen() {
+        return index.search(nextUser(), "review budget", false, 200);
+    }
+
+    /** All users (public search), prefix query */
+    @Benchmark
+    public List<Long> allUsersPrefix() {
+        return index.search(null, "pres*", null, 200);
+    }
+
+    private long nextUser() {
+        nextUser = (nextUser + 7919) % userCount;
+        return nextUser;
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
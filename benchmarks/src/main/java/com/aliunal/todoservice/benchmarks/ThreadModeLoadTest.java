@@ -0,0 +1,149 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread Mode Load Test - Benchmarks
+ * Closed-loop HTTP load against the full web stack, once with platform request threads and once with
+ * virtual threads ({@code spring.threads.virtual.enabled}). Each client repeatedly reads a keyset page and
+ * its statistics, so every request does JDBC work.
+ *
+ * <pre>java -cp target/benchmarks.jar com.aliunal.todoservice.benchmarks.ThreadModeLoadTest [clients] [seconds] [platform|virtual]</pre>
+ * Without a mode both run in the same JVM, platform first; pass a mode to measure each in a fresh JVM.
+ */
+public final class ThreadModeLoadTest {
+
+    private static final int USERS = 100;
+    private static final int TODOS_PER_USER = 50;
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+
+        System.out.printf("%-9s %8s %10s %9s %9s %9s %7s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        boolean[] modes = args.length > 2 ? new boolean[] {"virtual".equals(args[2])} : new boolean[] {false, true};
+        for (boolean virtual : modes) {
+            Result result = run(virtual, clients, duration);
+            System.out.printf("%-9s %8d %10.0f %9.1f %9.1f %9.1f %7d%n", virtual ? "virtual" : "platform", clients,
+                    result.throughput(), result.percentile(50), result.percentile(99), result.percentile(100), result.errors());
+        }
+    }
+
+    private static Result run(boolean virtual, int clients, Duration duration) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtual)) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            String[] tokens = seed(context);
+
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            // Warm up the JIT, connection pools and caches before measuring
+            drive(http, port, tokens, clients, Duration.ofSeconds(5));
+            return drive(http, port, tokens, clients, duration);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return BenchmarkContext.startServer("load-" + (virtual ? "virtual" : "platform"),
+                "spring.threads.virtual.enabled=" + virtual);
+    }
+
+    /** Create the users' todos and an access token per user */
+    private static String[] seed(ConfigurableApplicationContext context) {
+        TodoService todoService = context.getBean(TodoService.class);
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        Priority[] priorities = Priority.values();
+        String[] tokens = new String[USERS];
+        for (int user = 0; user < USERS; user++) {
+            long userId = user + 1;
+            List<TodoRequest> todos = new ArrayList<>(TODOS_PER_USER);
+            for (int i = 0; i < TODOS_PER_USER; i++) {
+                todos.add(new TodoRequest("Todo " + i, "Load test todo " + i, i % 3 == 0, priorities[i % priorities.length]));
+            }
+            todoService.createAllForUser(todos, userId);
+            tokens[user] = tokenProvider.generateAccessToken(userId, "user" + userId + "@example.com", "user" + userId);
+        }
+        return tokens;
+    }
+
+    private static Result drive(HttpClient http, int port, String[] tokens, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                String token = tokens[client % tokens.length];
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        String path = i % 2 == 0 ? "/api/v1/todos?limit=20" : "/api/v1/todos/statistics/me";
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>(clients);
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get(), duration);
+    }
+
+    private record Result(long[] sortedLatencies, long errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
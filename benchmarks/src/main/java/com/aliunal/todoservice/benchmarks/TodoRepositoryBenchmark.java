@@ -0,0 +1,146 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoRepository;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Todo Repository Benchmark - Benchmarks
+ * Latency of the TodoRepository port queries the service runs per request, on H2, each in a
+ * read-only transaction like the service methods (the service's cached list also against its uncached query). Run with {@code -t 4} (or more) for concurrent readers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class TodoRepositoryBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100", "1000", "10000"})
+    public int todoCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository repository;
+    private JpaTodoRepository jpaTodoRepository;
+    private TodoService todoService;
+    private TransactionTemplate readOnly;
+    private TodoCursor middle;
+    private Long pointId;
+    private long recentChangeSeq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("repository-" + todoCount);
+        repository = context.getBean(TodoRepository.class);
+        jpaTodoRepository = context.getBean(JpaTodoRepository.class);
+        todoService = context.getBean(TodoService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        // The measured user's todos interleaved with another user's, so every query has to filter by owner
+        Priority[] priorities = Priority.values();
+        List<Todo> todos = new ArrayList<>(todoCount * 2);
+        for (int i = 0; i < todoCount * 2; i++) {
+            Todo todo = new Todo("Todo " + i, "Benchmark todo number " + i, priorities[i % priorities.length],
+                    i % 2 == 0 ? USER_ID : OTHER_USER_ID);
+            if (i % 3 == 0) {
+                todo.markAsDone();
+            }
+            todo.recordChange(i + 1);
+            todos.add(todo);
+        }
+        List<Todo> saved = new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .execute(status -> repository.saveAll(todos));
+
+        List<TodoResponse> own = readOnly.execute(status -> repository.findResponsesByUserId(USER_ID));
+        middle = TodoCursor.after(own.get(own.size() / 2));
+        pointId = own.get(own.size() / 2).id();
+        // A delta sync that picks up the most recent 1% of the writes
+        recentChangeSeq = saved.get(saved.size() - 1).getChangeSeq() - Math.max(1, todoCount / 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Whole list, as GET /todos without paging: served from the per-user list cache after the first call */
+    @Benchmark
+    public VersionedTodoList listAllCached() {
+        return todoService.findVersionedListForUser(USER_ID);
+    }
+
+    /** Whole list straight from the query behind the cache, as on a cache miss */
+    @Benchmark
+    public List<TodoResponse> listAllQuery() {
+        return readOnly.execute(status -> jpaTodoRepository.findResponsesByUserId(USER_ID));
+    }
+
+    /** Completion filter over the whole list */
+    @Benchmark
+    public List<TodoResponse> listOpen() {
+        return readOnly.execute(status -> repository.findResponsesByUserIdAndDone(USER_ID, false));
+    }
+
+    /** First keyset page */
+    @Benchmark
+    public List<TodoResponse> firstPage() {
+        return readOnly.execute(status -> repository.findResponsePageByUserId(USER_ID, null, PAGE_SIZE));
+    }
+
+    /** Keyset page from the middle of the list; should cost the same as the first */
+    @Benchmark
+    public List<TodoResponse> middlePage() {
+        return readOnly.execute(status -> repository.findResponsePageByUserId(USER_ID, middle, PAGE_SIZE));
+    }
+
+    /** Owner-checked lookup by ID, as GET /todos/{id} */
+    @Benchmark
+    public Optional<TodoResponse> byId() {
+        return readOnly.execute(status -> repository.findResponseByIdAndUserId(pointId, USER_ID));
+    }
+
+    /** Delta sync of recent changes */
+    @Benchmark
+    public List<TodoResponse> changedAfter() {
+        return readOnly.execute(status -> repository.findResponsesByUserIdChangedAfter(USER_ID, recentChangeSeq));
+    }
+
+    /** Aggregate counts over the user's todos, as the counter reconciliation computes them */
+    @Benchmark
+    public TodoCounts countForUser() {
+        return readOnly.execute(status -> repository.countForUser(USER_ID));
+    }
+}
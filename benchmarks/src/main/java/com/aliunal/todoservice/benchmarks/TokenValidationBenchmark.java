@@ -0,0 +1,58 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.infrastructure.security.AccessTokenCache;
+import com.aliunal.todoservice.infrastructure.security.JwtPrincipal;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token Validation Benchmark - Benchmarks
+ * Throughput of access token validation with and without the verified-token cache.
+ * Run with {@code -t 4} (or more) to include contention on the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hmac";
+
+    private JwtTokenProvider provider;
+    private AccessTokenCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 900_000, 604_800_000);
+        cache = new AccessTokenCache(provider, new SimpleMeterRegistry(), 10_000);
+        token = provider.generateAccessToken(42L, "bench@example.com", "bench");
+    }
+
+    /** Decode, parse and HMAC-verify on every call */
+    @Benchmark
+    public Optional<JwtPrincipal> uncached() {
+        return provider.parseAccessToken(token);
+    }
+
+    /** Digest lookup in the verified-token cache */
+    @Benchmark
+    public Optional<JwtPrincipal> cached() {
+        return cache.parseAccessToken(token);
+    }
+}
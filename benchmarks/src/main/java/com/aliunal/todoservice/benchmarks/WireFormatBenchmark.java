@@ -0,0 +1,106 @@
+package com.aliunal.todoservice.benchmarks;
+
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire Format Benchmark - Benchmarks
+ * Encode and decode time of a 1,000-todo list response as JSON, CBOR and Smile, using the
+ * mappers the service negotiates with. Bytes on the wire (raw and gzipped) are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class WireFormatBenchmark {
+
+    private static final int TODO_COUNT = 1_000;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper mapper;
+    private List<TodoResponse> todos;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("wire-format-" + format);
+        mapper = switch (format) {
+            case "json" -> context.getBean(ObjectMapper.class);
+            case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        // Titles and descriptions of typical length; timestamps at the database's microsecond precision
+        Random random = new Random(42);
+        Priority[] priorities = Priority.values();
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        todos = new ArrayList<>(TODO_COUNT);
+        for (int i = 0; i < TODO_COUNT; i++) {
+            Instant createdAt = start.plus(random.nextLong(31_536_000_000_000L), ChronoUnit.MICROS);
+            todos.add(new TodoResponse(1_000L + i, "Todo " + i + " follow up on the quarterly report",
+                    i % 3 == 0 ? null : "Notes for todo " + i + ": check numbers with finance before Friday",
+                    random.nextBoolean(), priorities[i % priorities.length],
+                    createdAt, createdAt.plus(random.nextInt(86_400_000), ChronoUnit.MILLIS)));
+        }
+        encoded = mapper.writeValueAsBytes(todos);
+        System.out.printf("%n%s: %,d bytes for %,d todos (%,d gzipped)%n", format, encoded.length, TODO_COUNT, gzip(encoded));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Serialize the list as a response body */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(todos);
+    }
+
+    /** Parse a list response body back into DTOs, as a client would */
+    @Benchmark
+    public TodoResponse[] decode() throws IOException {
+        return mapper.readValue(encoded, TodoResponse[].class);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
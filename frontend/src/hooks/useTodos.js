@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { todoApi } from '../services/todoApi';
 import { useAuth } from '../contexts/AuthContext.jsx';
 
@@ -7,9 +7,12 @@ export function useTodos() {
   const [todos, setTodos] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  // Cursor of the last sync; refreshes only transfer what changed since then
+  const syncCursor = useRef(null);
 
   const loadTodos = async () => {
     if (!isAuthenticated) {
+      syncCursor.current = null;
       setTodos([]);
       setLoading(false);
       return;
@@ -18,8 +21,9 @@ export function useTodos() {
     try {
       setLoading(true);
       setError(null);
-      const data = await todoApi.getAll();
-      setTodos(data);
+      const changes = await todoApi.getChanges(syncCursor.current);
+      setTodos(prev => applyChanges(prev, changes));
+      syncCursor.current = changes.cursor;
     } catch (err) {
       // If authentication error, logout user
       if (err.message.includes('authentication') || err.message.includes('401')) {
@@ -77,11 +81,43 @@ export function useTodos() {
     if (isAuthenticated) {
       loadTodos();
     } else {
+      syncCursor.current = null;
       setTodos([]);
       setLoading(false);
     }
   }, [isAuthenticated]);
 
+  // Apply changes pushed by the server; a resync (missed events) falls back to a delta sync
+  useEffect(() => {
+    if (!isAuthenticated) return;
+    const controller = new AbortController();
+    let lastEventId = null;
+
+    const onEvent = ({ event, id, data }) => {
+      if (id) lastEventId = id;
+      if (event === 'created' || event === 'updated') {
+        setTodos(prev => applyChanges(prev, { changed: [JSON.parse(data)], deleted: [], reset: false }));
+      } else if (event === 'deleted') {
+        setTodos(prev => applyChanges(prev, { changed: [], deleted: [JSON.parse(data).id], reset: false }));
+      } else if (event === 'resync' || (event === 'open' && !lastEventId)) {
+        // Without a resume point, changes made before the stream opened are only covered by a sync
+        loadTodos();
+      }
+    };
+
+    (async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await todoApi.streamEvents(lastEventId, onEvent, controller.signal);
+        } catch {
+          // Reconnect below
+        }
+        await new Promise(resolve => setTimeout(resolve, 3000));
+      }
+    })();
+    return () => controller.abort();
+  }, [isAuthenticated]);
+
   return {
     todos,
     loading,
@@ -92,4 +128,18 @@ export function useTodos() {
     toggleTodo,
     refreshTodos: loadTodos
   };
-}
\ No newline at end of file
+}
+
+// Merge a delta sync into the local list (or replace it when the server asked for a reset)
+function applyChanges(todos, { changed, deleted, reset }) {
+  if (reset) {
+    return changed;
+  }
+  const changedById = new Map(changed.map(todo => [todo.id, todo]));
+  const deletedIds = new Set(deleted);
+  const merged = todos
+    .filter(todo => !deletedIds.has(todo.id))
+    .map(todo => changedById.get(todo.id) ?? todo);
+  const known = new Set(merged.map(todo => todo.id));
+  return [...merged, ...changed.filter(todo => !known.has(todo.id))];
+}
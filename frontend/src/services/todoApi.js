@@ -30,6 +30,77 @@ export const todoApi = {
     return response.json();
   },
 
+  // Get changes since a previous sync's cursor (all todos with reset=true when since is empty or expired)
+  async getChanges(since) {
+    const url = since ? `${API_BASE}/changes?since=${encodeURIComponent(since)}` : `${API_BASE}/changes`;
+    const authHeaders = await authApi.getAuthHeader();
+    const response = await fetch(url, {
+      headers: {
+        ...authHeaders
+      }
+    });
+    
+    if (response.status === 401) {
+      await authApi.refreshToken();
+      const newAuthHeaders = await authApi.getAuthHeader();
+      const retryResponse = await fetch(url, {
+        headers: {
+          ...newAuthHeaders
+        }
+      });
+      if (!retryResponse.ok) throw new Error(`Failed to sync todos: ${retryResponse.statusText}`);
+      return retryResponse.json();
+    }
+    
+    if (!response.ok) throw new Error(`Failed to sync todos: ${response.statusText}`);
+    return response.json();
+  },
+
+  // Follow the todo change event stream until it ends. Server-Sent Events are read over fetch, since
+  // EventSource cannot send the bearer token; onEvent gets { event, id, data } per message ('open' first)
+  async streamEvents(lastEventId, onEvent, signal) {
+    const authHeaders = await authApi.getAuthHeader();
+    const response = await fetch(`${API_BASE}/events`, {
+      headers: {
+        ...authHeaders,
+        Accept: 'text/event-stream',
+        ...(lastEventId ? { 'Last-Event-ID': lastEventId } : {})
+      },
+      signal
+    });
+    
+    if (response.status === 401) {
+      // Refresh so the reconnect carries a valid token
+      await authApi.refreshToken();
+      throw new Error('Event stream unauthorized');
+    }
+    if (!response.ok) throw new Error(`Failed to open event stream: ${response.statusText}`);
+    onEvent({ event: 'open' });
+    
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    let message = {};
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+      const lines = buffer.split(/\r?\n/);
+      buffer = lines.pop();
+      for (const line of lines) {
+        if (line === '') {
+          // Heartbeats carry only an id, which still has to be tracked for resuming
+          if (message.id || message.event) onEvent(message);
+          message = {};
+        } else if (!line.startsWith(':')) {
+          const colon = line.indexOf(':');
+          const field = colon < 0 ? line : line.slice(0, colon);
+          const fieldValue = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+          message[field] = field === 'data' && message.data !== undefined ? `${message.data}\n${fieldValue}` : fieldValue;
+        }
+      }
+    }
+  },
+
   // Create new todo for authenticated user
   async create(todo) {
     const authHeaders = await authApi.getAuthHeader();
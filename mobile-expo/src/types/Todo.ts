@@ -32,4 +32,5 @@ export interface TodoStatistics {
   total: number;
   completed: number;
   pending: number;
+  byPriority: Record<'HIGH' | 'MEDIUM' | 'LOW', number>;
 }
\ No newline at end of file
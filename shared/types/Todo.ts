@@ -24,4 +24,8 @@ export interface ApiError {
   message: string;
   status: number;
   timestamp: string;
-}
\ No newline at end of file
+}
+export interface TodoPage {
+  items: Todo[];
+  nextCursor: string | null;
+}
@@ -4,24 +4,31 @@ import com.aliunal.todoservice.api.auth.dto.*;
 import com.aliunal.todoservice.domain.user.entity.User;
 import com.aliunal.todoservice.domain.user.service.UserAlreadyExistsException;
 import com.aliunal.todoservice.domain.user.service.UserService;
+import com.aliunal.todoservice.infrastructure.security.CurrentUser;
 import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.infrastructure.security.PasswordHashingExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Authentication REST Controller - API Layer
  * Handles HTTP requests for authentication operations
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/auth")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 @Tag(name = "Authentication", description = "User authentication and authorization API")
@@ -29,10 +36,15 @@ public class AuthController {
     
     private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final HealthEndpoint healthEndpoint;
     
-    public AuthController(UserService userService, JwtTokenProvider jwtTokenProvider) {
+    public AuthController(UserService userService, JwtTokenProvider jwtTokenProvider,
+                          PasswordHashingExecutor passwordHashingExecutor, HealthEndpoint healthEndpoint) {
         this.userService = userService;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.healthEndpoint = healthEndpoint;
     }
     
     /**
@@ -42,35 +54,26 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "User registered successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data or user already exists"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Too many concurrent registrations, retry shortly")
     })
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
-        try {
-            User user = userService.registerEmailUser(
-                request.email(), 
-                request.username(), 
-                request.password()
-            );
-            
-            // Generate tokens
-            String accessToken = jwtTokenProvider.generateAccessToken(
-                user.getId(), user.getEmail(), user.getUsername());
-            String refreshToken = jwtTokenProvider.generateRefreshToken(
-                user.getId(), user.getEmail());
-            
-            AuthResponse response = AuthResponse.create(
-                accessToken, refreshToken, 900000L, user); // 15 minutes
-            
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            
-        } catch (UserAlreadyExistsException e) {
-            return ResponseEntity.badRequest()
-                .body(new ErrorResponse("USER_ALREADY_EXISTS", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("REGISTRATION_FAILED", "Registration failed"));
-        }
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        // Hashing runs on the bounded hashing pool; a full pool is rejected right here with 503
+        return passwordHashingExecutor.submit(() -> userService.registerEmailUser(
+                    request.email(), 
+                    request.username(), 
+                    request.password()
+                ))
+            .<ResponseEntity<?>>thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(authResponse(user)))
+            .exceptionally(e -> {
+                if (e.getCause() instanceof UserAlreadyExistsException alreadyExists) {
+                    return ResponseEntity.badRequest()
+                        .body(new ErrorResponse("USER_ALREADY_EXISTS", alreadyExists.getMessage()));
+                }
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("REGISTRATION_FAILED", "Registration failed"));
+            });
     }
     
     /**
@@ -81,36 +84,32 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "Login successful"),
         @ApiResponse(responseCode = "401", description = "Invalid credentials"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry shortly")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            Optional<User> userOpt = userService.authenticateEmailUser(
-                request.email(), request.password());
-            
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new ErrorResponse("INVALID_CREDENTIALS", "Invalid email or password"));
-            }
-            
-            User user = userOpt.get();
-            
-            // Generate tokens
-            String accessToken = jwtTokenProvider.generateAccessToken(
-                user.getId(), user.getEmail(), user.getUsername());
-            String refreshToken = jwtTokenProvider.generateRefreshToken(
-                user.getId(), user.getEmail());
-            
-            AuthResponse response = AuthResponse.create(
-                accessToken, refreshToken, 900000L, user); // 15 minutes
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("LOGIN_FAILED", "Login failed"));
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> userService.authenticateEmailUser(
+                    request.email(), request.password()))
+            .<ResponseEntity<?>>thenApply(userOpt -> userOpt
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(authResponse(user)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("INVALID_CREDENTIALS", "Invalid email or password"))))
+            .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("LOGIN_FAILED", "Login failed")));
+    }
+    
+    /**
+     * Issue a fresh access/refresh token pair for the user
+     */
+    private AuthResponse authResponse(User user) {
+        String accessToken = jwtTokenProvider.generateAccessToken(
+            user.getId(), user.getEmail(), user.getUsername());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(
+            user.getId(), user.getEmail());
+        
+        return AuthResponse.create(
+            accessToken, refreshToken, 900000L, user); // 15 minutes
     }
     
     /**
@@ -128,12 +127,13 @@ public class AuthController {
         try {
             String refreshToken = request.refreshToken();
             
-            if (!jwtTokenProvider.validateRefreshToken(refreshToken)) {
+            Optional<Long> tokenUserId = jwtTokenProvider.parseRefreshToken(refreshToken);
+            if (tokenUserId.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("INVALID_REFRESH_TOKEN", "Invalid or expired refresh token"));
             }
             
-            Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
+            Long userId = tokenUserId.get();
             
             Optional<User> userOpt = userService.findById(userId);
             if (userOpt.isEmpty()) {
@@ -170,10 +170,8 @@ public class AuthController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
+    public ResponseEntity<?> getCurrentUser(@CurrentUser(required = false) Long userId) {
         try {
-            Long userId = (Long) request.getAttribute("currentUserId");
-            
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("NOT_AUTHENTICATED", "User not authenticated"));
@@ -215,10 +213,17 @@ public class AuthController {
      */
     @Operation(summary = "Health check", description = "Check if the authentication API is healthy and running")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "API is healthy")
+        @ApiResponse(responseCode = "200", description = "API is healthy"),
+        @ApiResponse(responseCode = "503", description = "Database or connection pool not ready")
     })
     @GetMapping("/health")
     public ResponseEntity<MessageResponse> health() {
+        // Same verdict as /actuator/health/readiness (database and connection pool included)
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        if (readiness == null || !Status.UP.equals(readiness.getStatus())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse("Authentication API is not ready"));
+        }
         return ResponseEntity.ok(new MessageResponse("Authentication API is healthy"));
     }
     
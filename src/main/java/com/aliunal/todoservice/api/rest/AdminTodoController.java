@@ -0,0 +1,73 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.service.TodoExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Admin Todo REST Controller - API Layer
+ * Operations over the todos of all users, restricted to ROLE_ADMIN (security.admin-user-ids)
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/admin/todos")
+@Tag(name = "Admin", description = "Administration API")
+public class AdminTodoController {
+    
+    private final TodoExportService todoExportService;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    
+    public AdminTodoController(TodoExportService todoExportService, ObjectMapper objectMapper,
+                               Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.todoExportService = todoExportService;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvStreamingBody.mapper(objectMapperBuilder);
+    }
+    
+    /**
+     * Export all todos with their owners as NDJSON
+     */
+    @Operation(summary = "Export all todos", description = "Stream the todos of all users, with their owner, in id order "
+            + "as newline-delimited JSON; archived todos are included with archived set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos are streamed one JSON object per line"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodos() {
+        StreamingResponseBody body = NdjsonStreamingBody.of(objectMapper, TodoExportRow.class,
+                todoExportService::exportAll);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Export all todos with their owners as CSV
+     */
+    @Operation(summary = "Export all todos as CSV", description = "Stream the todos of all users, with their owner, in id order "
+            + "as CSV with a header row; chosen with Accept: text/csv. Archived todos are included with archived set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos are streamed one CSV row per todo"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Not an administrator")
+    })
+    @GetMapping(value = "/export", produces = TodoController.TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodosCsv() {
+        StreamingResponseBody body = CsvStreamingBody.of(csvMapper, TodoExportRow.class, todoExportService::exportAll);
+        return ResponseEntity.ok().contentType(TodoController.TEXT_CSV).body(body);
+    }
+}
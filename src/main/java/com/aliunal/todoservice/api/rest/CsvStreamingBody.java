@@ -0,0 +1,57 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * CSV Streaming Body
+ * Writes a header row and then one CSV row per element pushed by a source straight to the response,
+ * so only the current element is ever held in memory
+ */
+final class CsvStreamingBody {
+    
+    private CsvStreamingBody() {
+    }
+    
+    /**
+     * CSV mapper with the application's Jackson settings (ISO dates, unknown properties ignored) and columns in
+     * declaration order; not a bean, as another ObjectMapper bean would replace Boot's
+     */
+    static CsvMapper mapper(Jackson2ObjectMapperBuilder builder) {
+        CsvMapper csvMapper = CsvMapper.builder()
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .build();
+        builder.configure(csvMapper);
+        return csvMapper;
+    }
+    
+    /**
+     * Create a response body that encodes every element the source emits, columns in the type's declaration order
+     */
+    static <T> StreamingResponseBody of(CsvMapper csvMapper, Class<T> type, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (SequenceWriter writer = csvMapper.writerFor(type)
+                    .with(csvMapper.schemaFor(type).withHeader())
+                    .with(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+                    .writeValues(outputStream)) {
+                source.accept(element -> {
+                    try {
+                        writer.write(element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
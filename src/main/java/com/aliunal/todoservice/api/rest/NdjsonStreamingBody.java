@@ -0,0 +1,49 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON Streaming Body
+ * Writes each element pushed by a source as one JSON line straight to the response,
+ * so only the current element is ever held in memory
+ */
+final class NdjsonStreamingBody {
+    
+    private NdjsonStreamingBody() {
+    }
+    
+    /**
+     * Create a response body that encodes every element the source emits
+     */
+    static <T> StreamingResponseBody of(ObjectMapper objectMapper, Class<T> type, Consumer<Consumer<T>> source) {
+        // Let the generator's buffer decide when to flush instead of flushing after every row
+        ObjectWriter writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                
+                source.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,243 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.service.ReactiveTodoService;
+import com.aliunal.todoservice.infrastructure.security.CurrentUser;
+import com.aliunal.todoservice.shared.dto.TodoBulkCreateRequest;
+import com.aliunal.todoservice.shared.dto.TodoBulkDeleteRequest;
+import com.aliunal.todoservice.shared.dto.TodoBulkUpdateRequest;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.dto.TodoStatistics;
+import jakarta.validation.Valid;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Reactive Todo REST Controller - API Layer
+ * Serves the same /api/v1/todos contract as {@link TodoController} on WebFlux ("reactive" profile).
+ * Streaming endpoints emit rows as R2DBC delivers them, with backpressure from the client connection.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/todos")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class ReactiveTodoController {
+    
+    private final ReactiveTodoService todoService;
+    private final HealthEndpoint healthEndpoint;
+    
+    public ReactiveTodoController(ReactiveTodoService todoService, HealthEndpoint healthEndpoint) {
+        this.todoService = todoService;
+        this.healthEndpoint = healthEndpoint;
+    }
+    
+    /**
+     * Get all todos for authenticated user (search, page envelope or plain list as in TodoController)
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllTodos(
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser Long userId) {
+    
+        // Read the version before the todos: a write in between then only makes the ETag older than the body
+        return todoService.getVersionForUser(userId).flatMap(version -> {
+            ETag eTag = TodoETags.of(userId, version);
+            if (TodoETags.matches(ifNoneMatch, eTag)) {
+                return Mono.just(TodoETags.notModified(eTag));
+            }
+    
+            Mono<?> body;
+            if (search != null && !search.trim().isEmpty()) {
+                body = todoService.searchForUser(userId, search.trim(), completed);
+            } else if (cursor != null || limit != null) {
+                body = todoService.findPageForUser(userId, cursor, limit);
+            } else {
+                Flux<TodoResponse> todos = completed != null
+                        ? todoService.findByStatusForUser(userId, completed)
+                        : todoService.findAllForUser(userId);
+                body = todos.collectList();
+            }
+            return body.map(todos -> TodoETags.ok(eTag).body(todos));
+        });
+    }
+    
+    /**
+     * Get all todos (public endpoint for backward compatibility)
+     */
+    @GetMapping("/public")
+    public Mono<List<TodoResponse>> getAllTodosPublic(
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String search) {
+    
+        if (search != null && !search.trim().isEmpty()) {
+            return todoService.searchByTitle(search.trim());
+        }
+        Flux<TodoResponse> todos = completed != null ? todoService.findByStatus(completed) : todoService.findAll();
+        return todos.collectList();
+    }
+    
+    /**
+     * Get the changes to the authenticated user's todos since a sync cursor
+     */
+    @GetMapping("/changes")
+    public Mono<TodoChanges> getChanges(@RequestParam(required = false) String since, @CurrentUser Long userId) {
+        return todoService.findChangesForUser(userId, since);
+    }
+    
+    /**
+     * Stream all live todos for authenticated user as NDJSON; archived todos are not included
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoResponse> streamTodos(@CurrentUser Long userId) {
+        return todoService.findAllForUser(userId);
+    }
+    
+    /**
+     * Stream all todos as NDJSON (public endpoint for backward compatibility)
+     */
+    @GetMapping(value = "/public/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoResponse> streamTodosPublic() {
+        return todoService.findAll();
+    }
+    
+    /**
+     * Get todo by ID for authenticated user
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponse>> getTodoById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser Long userId) {
+        return todoService.getVersionForUser(userId).flatMap(version -> {
+            ETag eTag = TodoETags.of(userId, version);
+            // Looked up before the precondition, so a missing or foreign id is a 404 even for a matching ETag
+            return todoService.findByIdForUser(id, userId)
+                    .map(todo -> TodoETags.matches(ifNoneMatch, eTag)
+                            ? TodoETags.<TodoResponse>notModified(eTag)
+                            : TodoETags.ok(eTag).body(todo))
+                    .onErrorReturn(RuntimeException.class, ResponseEntity.notFound().build());
+        });
+    }
+    
+    /**
+     * Create new todo for authenticated user
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TodoResponse>> createTodo(@Valid @RequestBody TodoRequest request,
+                                                         @CurrentUser Long userId) {
+        return todoService.createForUser(request, userId)
+                .map(created -> ResponseEntity.created(URI.create("/api/v1/todos/" + created.id())).body(created));
+    }
+    
+    /**
+     * Create many todos for authenticated user
+     */
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<List<TodoResponse>>> createTodos(@Valid @RequestBody TodoBulkCreateRequest request,
+                                                                @CurrentUser Long userId) {
+        return todoService.createAllForUser(request.todos(), userId)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+    
+    /**
+     * Get many todos by ID for authenticated user
+     */
+    @GetMapping("/bulk")
+    public Mono<List<TodoResponse>> getTodosByIds(@RequestParam List<Long> ids, @CurrentUser Long userId) {
+        return todoService.findAllByIdsForUser(ids, userId).collectList();
+    }
+    
+    /**
+     * Update many todos for authenticated user
+     */
+    @PutMapping("/bulk")
+    public Mono<List<TodoResponse>> updateTodos(@Valid @RequestBody TodoBulkUpdateRequest request,
+                                                @CurrentUser Long userId) {
+        return todoService.updateAllForUser(request.todos(), userId);
+    }
+    
+    /**
+     * Delete many todos for authenticated user
+     */
+    @DeleteMapping("/bulk")
+    public Mono<ResponseEntity<Void>> deleteTodos(@Valid @RequestBody TodoBulkDeleteRequest request,
+                                                  @CurrentUser Long userId) {
+        return todoService.deleteAllForUser(request.ids(), userId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+    
+    /**
+     * Update todo
+     */
+    @PutMapping("/{id}")
+    public Mono<TodoResponse> updateTodo(@PathVariable Long id, @Valid @RequestBody TodoRequest request) {
+        return todoService.update(id, request);
+    }
+    
+    /**
+     * Toggle todo completion status
+     */
+    @PatchMapping("/{id}/toggle")
+    public Mono<TodoResponse> toggleTodo(@PathVariable Long id) {
+        return todoService.toggleCompletion(id);
+    }
+    
+    /**
+     * Delete todo
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id) {
+        return todoService.delete(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+    
+    /**
+     * Get todo statistics
+     */
+    @GetMapping("/statistics")
+    public Mono<TodoStatistics> getStatistics() {
+        return todoService.getStatistics();
+    }
+    
+    /**
+     * Get todo statistics for authenticated user
+     */
+    @GetMapping("/statistics/me")
+    public Mono<TodoStatistics> getMyStatistics(@CurrentUser Long userId) {
+        return todoService.getStatisticsForUser(userId);
+    }
+    
+    /**
+     * Health check endpoint, reporting readiness (the JDBC health checks block, hence boundedElastic)
+     */
+    @GetMapping("/health")
+    public Mono<ResponseEntity<String>> health() {
+        return Mono.fromCallable(() -> {
+                    HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+                    if (readiness == null || !Status.UP.equals(readiness.getStatus())) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Todo API is not ready");
+                    }
+                    return ResponseEntity.ok("Todo API is healthy");
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
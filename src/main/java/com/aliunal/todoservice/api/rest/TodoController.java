@@ -1,19 +1,43 @@
 package com.aliunal.todoservice.api.rest;
 
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.aliunal.todoservice.domain.todo.service.TodoImportService;
 import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.shared.dto.TodoBulkCreateRequest;
+import com.aliunal.todoservice.shared.dto.TodoBulkDeleteRequest;
+import com.aliunal.todoservice.shared.dto.TodoBulkUpdateRequest;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoImportReport;
+import com.aliunal.todoservice.shared.dto.TodoPage;
 import com.aliunal.todoservice.shared.dto.TodoRequest;
 import com.aliunal.todoservice.shared.dto.TodoResponse;
 import com.aliunal.todoservice.shared.dto.TodoStatistics;
-import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.infrastructure.push.TodoEventHub;
+import com.aliunal.todoservice.infrastructure.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import jakarta.validation.Valid;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -22,52 +46,95 @@ import java.util.List;
  * Handles HTTP requests for todo operations
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/todos")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 @Tag(name = "Todo", description = "Todo management API")
 public class TodoController {
     
+    static final String TEXT_CSV_VALUE = "text/csv";
+    static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    
     private final TodoService todoService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final TodoImportService todoImportService;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final TodoEventHub todoEventHub;
+    private final HealthEndpoint healthEndpoint;
     
-    public TodoController(TodoService todoService, JwtTokenProvider jwtTokenProvider) {
+    public TodoController(TodoService todoService, TodoImportService todoImportService, ObjectMapper objectMapper,
+                          Jackson2ObjectMapperBuilder objectMapperBuilder, TodoEventHub todoEventHub,
+                          HealthEndpoint healthEndpoint) {
         this.todoService = todoService;
-        this.jwtTokenProvider = jwtTokenProvider;
-    }
-    
-    /**
-     * Extract user ID from JWT token
-     */
-    private Long extractUserIdFromToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Missing or invalid authorization header");
-        }
-        String token = authHeader.substring(7);
-        return jwtTokenProvider.getUserIdFromToken(token);
+        this.todoImportService = todoImportService;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvStreamingBody.mapper(objectMapperBuilder);
+        this.todoEventHub = todoEventHub;
+        this.healthEndpoint = healthEndpoint;
     }
     
     /**
      * Get all todos for authenticated user
      */
-    @Operation(summary = "Get all todos", description = "Retrieve all todos for authenticated user with optional filtering")
+    @Operation(summary = "Get all todos", description = "Retrieve todos for authenticated user with optional filtering. "
+            + "When cursor or limit is given, a page envelope with nextCursor is returned instead of a plain list")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved todos"),
+        @ApiResponse(responseCode = "304", description = "Todos unchanged since the ETag given in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit, or includeArchived with search or paging"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<TodoResponse>> getAllTodos(
+    public ResponseEntity<?> getAllTodos(
             @Parameter(description = "Filter by completion status")
             @RequestParam(required = false) Boolean completed,
-            @Parameter(description = "Search term for title/description")
+            @Parameter(description = "Full-text search over title and description; results are ranked, best match first. "
+                    + "Terms are combined with AND; supports \"phrases\", prefix* and -exclusion")
             @RequestParam(required = false) String search,
-            @RequestHeader("Authorization") String authHeader) {
+            @Parameter(description = "Opaque cursor from a previous page's nextCursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of todos per page (1-200, default 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Also return archived todos (completed and untouched for a long time); "
+                    + "only for the full, unpaged list, not together with search, cursor or limit")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @Parameter(description = "ETag of a previous response; answered with 304 while the todos are unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser Long userId) {
         
-        Long userId = extractUserIdFromToken(authHeader);
-        List<TodoResponse> todos = todoService.findAllForUser(userId);
+        boolean searching = search != null && !search.trim().isEmpty();
+        if (includeArchived && (searching || cursor != null || limit != null)) {
+            throw new IllegalArgumentException("includeArchived cannot be combined with search, cursor or limit");
+        }
         
-        // Apply filters if needed (todo: implement user-specific filtering)
-        return ResponseEntity.ok(todos);
+        // Read the version before the todos: a write in between then only makes the ETag older than the body.
+        // This holds for every body read from the tables; the cached full list carries its own version instead
+        ETag eTag = TodoETags.of(userId, todoService.getVersionForUser(userId), includeArchived);
+        if (TodoETags.matches(ifNoneMatch, eTag)) {
+            return TodoETags.notModified(eTag);
+        }
+        
+        if (searching) {
+            return TodoETags.ok(eTag).body(todoService.searchForUser(userId, search.trim(), completed));
+        }
+        
+        if (cursor != null || limit != null) {
+            TodoPage page = todoService.findPageForUser(userId, cursor, limit);
+            return TodoETags.ok(eTag).body(page);
+        }
+        
+        if (includeArchived) {
+            return TodoETags.ok(eTag).body(todoService.findAllForUserIncludingArchived(userId, completed));
+        }
+        
+        if (completed != null) {
+            return TodoETags.ok(eTag).body(todoService.findByStatusForUser(userId, completed));
+        }
+        
+        // Until its eviction after a commit the cached list may trail the version read above: label it with its own
+        VersionedTodoList list = todoService.findVersionedListForUser(userId);
+        return TodoETags.ok(TodoETags.of(userId, list.version())).body(list.todos());
     }
     
     /**
@@ -94,12 +161,94 @@ public class TodoController {
         return ResponseEntity.ok(todos);
     }
     
+    /**
+     * Get the changes to the authenticated user's todos since a sync cursor
+     */
+    @Operation(summary = "Sync todo changes", description = "Todos created or modified and IDs of todos deleted since "
+            + "the cursor of a previous sync. Without a cursor, or with one older than the tombstone retention window, "
+            + "all todos are returned with reset=true and the client replaces its local copy")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes and the cursor for the next sync"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChanges> getChanges(
+            @Parameter(description = "Opaque cursor from a previous sync's cursor")
+            @RequestParam(required = false) String since,
+            @CurrentUser Long userId) {
+        return ResponseEntity.ok(todoService.findChangesForUser(userId, since));
+    }
+    
+    /**
+     * Push the authenticated user's todo changes as Server-Sent Events
+     */
+    @Operation(summary = "Todo change events", description = "Server-Sent Events stream of the user's todo changes "
+            + "(events created, updated and deleted carrying the todo). Reconnecting with Last-Event-ID replays missed "
+            + "events; when they can no longer be replayed, or the client reads too slowly, a resync event is sent "
+            + "and the client catches up through /changes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "ID of the last event received, sent by the client when reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @CurrentUser Long userId) {
+        return todoEventHub.subscribe(userId, lastEventId);
+    }
+    
+    /**
+     * Stream all live todos for authenticated user as NDJSON; archived todos are not included
+     */
+    @Operation(summary = "Stream todos", description = "Stream all live todos for authenticated user as newline-delimited JSON; "
+            + "archived todos are not included, use GET /api/v1/todos?includeArchived=true for them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos are streamed one JSON object per line"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodos(@CurrentUser Long userId) {
+        StreamingResponseBody body = NdjsonStreamingBody.of(objectMapper, TodoResponse.class,
+                sink -> todoService.streamAllForUser(userId, sink));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Stream all live todos for authenticated user as CSV; archived todos are not included
+     */
+    @Operation(summary = "Stream todos as CSV", description = "Stream all live todos for authenticated user as CSV with a header row; "
+            + "chosen with Accept: text/csv. Archived todos are not included")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos are streamed one CSV row per todo"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodosCsv(@CurrentUser Long userId) {
+        StreamingResponseBody body = CsvStreamingBody.of(csvMapper, TodoResponse.class,
+                sink -> todoService.streamAllForUser(userId, sink));
+        return ResponseEntity.ok().contentType(TEXT_CSV).body(body);
+    }
+    
+    /**
+     * Stream all todos as NDJSON (public endpoint for backward compatibility)
+     */
+    @Operation(summary = "Stream all todos (public)", description = "Stream all todos as newline-delimited JSON")
+    @GetMapping(value = "/public/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodosPublic() {
+        StreamingResponseBody body = NdjsonStreamingBody.of(objectMapper, TodoResponse.class,
+                todoService::streamAll);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Get todo by ID for authenticated user
      */
     @Operation(summary = "Get todo by ID", description = "Retrieve a specific todo by its ID for authenticated user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Todo found and returned"),
+        @ApiResponse(responseCode = "304", description = "Todo unchanged since the ETag given in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Todo not found or access denied"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -108,14 +257,21 @@ public class TodoController {
     public ResponseEntity<TodoResponse> getTodoById(
             @Parameter(description = "ID of the todo to retrieve")
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @Parameter(description = "ETag of a previous response; answered with 304 while the todo is unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @CurrentUser Long userId) {
+        ETag eTag = TodoETags.of(userId, todoService.getVersionForUser(userId));
+        TodoResponse todo;
         try {
-            Long userId = extractUserIdFromToken(authHeader);
-            TodoResponse todo = todoService.findByIdForUser(id, userId);
-            return ResponseEntity.ok(todo);
+            // Looked up before the precondition, so a missing or foreign id is a 404 even for a matching ETag
+            todo = todoService.findByIdForUser(id, userId);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
+        if (TodoETags.matches(ifNoneMatch, eTag)) {
+            return TodoETags.notModified(eTag);
+        }
+        return TodoETags.ok(eTag).body(todo);
     }
     
     /**
@@ -132,13 +288,115 @@ public class TodoController {
     public ResponseEntity<TodoResponse> createTodo(
             @Parameter(description = "Todo data to create")
             @Valid @RequestBody TodoRequest request,
-            @RequestHeader("Authorization") String authHeader) {
-        Long userId = extractUserIdFromToken(authHeader);
+            @CurrentUser Long userId) {
         TodoResponse created = todoService.createForUser(request, userId);
         URI location = URI.create("/api/v1/todos/" + created.id());
         return ResponseEntity.created(location).body(created);
     }
     
+    /**
+     * Create many todos for authenticated user
+     */
+    @Operation(summary = "Create todos in bulk", description = "Create up to 500 todos for authenticated user in one transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Todos created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TodoResponse>> createTodos(
+            @Parameter(description = "Todos to create")
+            @Valid @RequestBody TodoBulkCreateRequest request,
+            @CurrentUser Long userId) {
+        List<TodoResponse> created = todoService.createAllForUser(request.todos(), userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+    
+    /**
+     * Import todos for authenticated user from NDJSON
+     */
+    @Operation(summary = "Import todos from NDJSON", description = "Create todos for authenticated user from one JSON object "
+            + "per line, with the fields of a create request. The body is parsed while it arrives and todos are created in "
+            + "batches; invalid rows are skipped and reported by line number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; the report counts imported and rejected rows"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TodoImportReport> importTodos(InputStream body, @CurrentUser Long userId) {
+        return ResponseEntity.ok(todoImportService.importForUser(TodoImportReader.ndjson(objectMapper, body), userId));
+    }
+    
+    /**
+     * Import todos for authenticated user from CSV
+     */
+    @Operation(summary = "Import todos from CSV", description = "Create todos for authenticated user from CSV whose header row "
+            + "names the columns (title, description, done, priority; others are ignored), e.g. a CSV export. "
+            + "Invalid rows are skipped and reported by line number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; the report counts imported and rejected rows"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<TodoImportReport> importTodosCsv(InputStream body, @CurrentUser Long userId) throws IOException {
+        return ResponseEntity.ok(todoImportService.importForUser(TodoImportReader.csv(csvMapper, body), userId));
+    }
+    
+    /**
+     * Get many todos by ID for authenticated user
+     */
+    @Operation(summary = "Get todos in bulk", description = "Retrieve up to 500 todos of authenticated user by ID; unknown IDs are skipped")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos found and returned"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/bulk")
+    public ResponseEntity<List<TodoResponse>> getTodosByIds(
+            @Parameter(description = "Comma-separated IDs of the todos to retrieve")
+            @RequestParam List<Long> ids,
+            @CurrentUser Long userId) {
+        return ResponseEntity.ok(todoService.findAllByIdsForUser(ids, userId));
+    }
+    
+    /**
+     * Update many todos for authenticated user
+     */
+    @Operation(summary = "Update todos in bulk", description = "Update up to 500 todos of authenticated user in one transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "At least one todo not found or access denied")
+    })
+    @PutMapping("/bulk")
+    public ResponseEntity<List<TodoResponse>> updateTodos(
+            @Parameter(description = "Todo IDs with their updated data")
+            @Valid @RequestBody TodoBulkUpdateRequest request,
+            @CurrentUser Long userId) {
+        return ResponseEntity.ok(todoService.updateAllForUser(request.todos(), userId));
+    }
+    
+    /**
+     * Delete many todos for authenticated user
+     */
+    @Operation(summary = "Delete todos in bulk", description = "Delete up to 500 todos of authenticated user in one transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Todos deleted successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "At least one todo not found or access denied")
+    })
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteTodos(
+            @Parameter(description = "IDs of the todos to delete")
+            @Valid @RequestBody TodoBulkDeleteRequest request,
+            @CurrentUser Long userId) {
+        todoService.deleteAllForUser(request.ids(), userId);
+        return ResponseEntity.noContent().build();
+    }
+    
     /**
      * Update todo
      */
@@ -196,7 +454,7 @@ public class TodoController {
     /**
      * Get todo statistics
      */
-    @Operation(summary = "Get todo statistics", description = "Retrieve statistics about todos (total, completed, pending)")
+    @Operation(summary = "Get todo statistics", description = "Retrieve statistics about todos (total, completed, pending, per priority)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -207,16 +465,35 @@ public class TodoController {
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * Get todo statistics for authenticated user
+     */
+    @Operation(summary = "Get my todo statistics", description = "Retrieve total, completed, pending and per-priority counts of the authenticated user's todos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/statistics/me")
+    public ResponseEntity<TodoStatistics> getMyStatistics(@CurrentUser Long userId) {
+        return ResponseEntity.ok(todoService.getStatisticsForUser(userId));
+    }
+    
     /**
      * Health check endpoint
      */
     @Operation(summary = "Health check", description = "Check if the todo API is healthy and running")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "API is healthy"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "503", description = "Database or connection pool not ready")
     })
     @GetMapping("/health")
     public ResponseEntity<String> health() {
+        // Same verdict as /actuator/health/readiness (database and connection pool included)
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        if (readiness == null || !Status.UP.equals(readiness.getStatus())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Todo API is not ready");
+        }
         return ResponseEntity.ok("Todo API is healthy");
     }
 }
\ No newline at end of file
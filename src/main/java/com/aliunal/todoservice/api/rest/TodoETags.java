@@ -0,0 +1,64 @@
+package com.aliunal.todoservice.api.rest;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Todo ETags
+ * Weak ETags derived from a user's todo change version, so a conditional GET of the list is answered
+ * from the version alone without reading or serializing any todos; a single todo is still looked up, to check it
+ * exists and belongs to the user
+ */
+final class TodoETags {
+    
+    // Clients may keep the response but have to revalidate it before every reuse
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
+    // The same version is served as JSON, CBOR or Smile, so stored copies must be keyed by the Accept header too
+    private static final String VARY = HttpHeaders.ACCEPT;
+    
+    private TodoETags() {
+    }
+    
+    /**
+     * The ETag of a user's todos at the given change version. Weak, because the JSON, CBOR and Smile
+     * representations of one version are equivalent but not byte-identical, which a strong validator would claim
+     */
+    static ETag of(Long userId, long version) {
+        return new ETag(userId + "-" + version, true);
+    }
+    
+    /**
+     * The ETag of a user's todo list at the given change version; a list that includes the archive is a different
+     * representation of the same version and is marked, so neither list's ETag revalidates the other
+     */
+    static ETag of(Long userId, long version, boolean includeArchived) {
+        return includeArchived ? new ETag(userId + "-" + version + "-a", true) : of(userId, version);
+    }
+    
+    /**
+     * Whether an If-None-Match header lists the current ETag (weak comparison, as If-None-Match requires)
+     */
+    static boolean matches(String ifNoneMatch, ETag current) {
+        return ifNoneMatch != null && ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+    
+    /**
+     * 200 response builder carrying the ETag and the revalidation policy
+     */
+    static ResponseEntity.BodyBuilder ok(ETag eTag) {
+        return ResponseEntity.ok().eTag(eTag.formattedTag()).cacheControl(CACHE_CONTROL).varyBy(VARY);
+    }
+    
+    /**
+     * Empty 304 response for a client whose copy is still current
+     */
+    static <T> ResponseEntity<T> notModified(ETag eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.formattedTag()).cacheControl(CACHE_CONTROL)
+                .varyBy(VARY).build();
+    }
+}
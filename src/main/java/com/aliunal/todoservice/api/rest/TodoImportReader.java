@@ -0,0 +1,117 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.service.TodoImportService;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Todo Import Reader
+ * Parses an import body incrementally into rows: NDJSON (one todo object per line) or CSV with a header row
+ * naming the columns (title, description, done, priority; other columns such as id are ignored, empty cells are
+ * null). Rows that cannot be parsed become error rows, the rest of the body is still read.
+ */
+final class TodoImportReader {
+    
+    private TodoImportReader() {
+    }
+    
+    static Iterator<TodoImportService.Row> ndjson(ObjectMapper objectMapper, InputStream body) {
+        ObjectReader reader = objectMapper.readerFor(TodoRequest.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return new RowIterator() {
+            
+            private long lineNumber;
+            
+            @Override
+            TodoImportService.Row read() throws IOException {
+                String line;
+                do {
+                    line = lines.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    TodoRequest request = reader.readValue(line);
+                    return request != null ? TodoImportService.Row.of(lineNumber, request)
+                            : TodoImportService.Row.invalid(lineNumber, "Expected a todo object");
+                } catch (JsonProcessingException e) {
+                    return TodoImportService.Row.invalid(lineNumber, e.getOriginalMessage());
+                }
+            }
+        };
+    }
+    
+    static Iterator<TodoImportService.Row> csv(CsvMapper csvMapper, InputStream body) throws IOException {
+        MappingIterator<TodoRequest> rows = csvMapper.readerFor(TodoRequest.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .readValues(body);
+        return new RowIterator() {
+            
+            @Override
+            TodoImportService.Row read() throws IOException {
+                // After a row that failed to bind, hasNextValue skips to the next row, so reading goes on
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                long line = rows.getCurrentLocation().getLineNr();
+                try {
+                    return TodoImportService.Row.of(line, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    return TodoImportService.Row.invalid(line, e.getOriginalMessage());
+                }
+            }
+        };
+    }
+    
+    /**
+     * Iterator over rows produced one at a time by read(), which returns null at the end of the body
+     */
+    private abstract static class RowIterator implements Iterator<TodoImportService.Row> {
+        
+        private TodoImportService.Row next;
+        private boolean done;
+        
+        abstract TodoImportService.Row read() throws IOException;
+        
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+        
+        @Override
+        public TodoImportService.Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TodoImportService.Row row = next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.aliunal.todoservice.domain.todo.entity;
+
+import com.aliunal.todoservice.shared.enums.Priority;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Archived Todo Entity - Domain Object
+ * A completed todo moved out of the live todos table by the archival job; read-only, rows are only
+ * ever written by the archive copy
+ */
+@Entity
+@Immutable
+@Table(name = "todos_archive")
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private boolean done;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    // Default constructor for JPA
+    protected ArchivedTodo() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -12,8 +12,16 @@ import com.aliunal.todoservice.shared.enums.Priority;
 @Table(name = "todos")
 public class Todo {
     
+    /**
+     * Ids per todos_seq value (its INCREMENT BY); every writer that takes ids from the sequence allocates pooled-lo
+     * blocks of this size
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -38,6 +46,10 @@ public class Todo {
     @Column(nullable = false)
     private Instant updatedAt = Instant.now();
 
+    // User's change version of the write that last touched this todo (delta sync returns todos changed after a cursor)
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     // Default constructor for JPA
     protected Todo() {}
 
@@ -57,6 +69,22 @@ public class Todo {
         this.updatedAt = Instant.now();
     }
 
+    // Rebuild a stored todo from its column values (persistence adapters that do not go through JPA, e.g. R2DBC)
+    public static Todo restore(Long id, String title, String description, boolean done, Priority priority,
+                               Long userId, Instant createdAt, Instant updatedAt, long changeSeq) {
+        Todo todo = new Todo();
+        todo.id = id;
+        todo.title = title;
+        todo.description = description;
+        todo.done = done;
+        todo.priority = priority;
+        todo.userId = userId;
+        todo.createdAt = createdAt;
+        todo.updatedAt = updatedAt;
+        todo.changeSeq = changeSeq;
+        return todo;
+    }
+
     // Business methods
     public void markAsDone() {
         this.done = true;
@@ -86,6 +114,10 @@ public class Todo {
         this.updatedAt = Instant.now();
     }
 
+    public void recordChange(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -119,6 +151,10 @@ public class Todo {
         return userId;
     }
 
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
     // Setters (package-private for JPA)
     void setId(Long id) {
         this.id = id;
@@ -0,0 +1,51 @@
+package com.aliunal.todoservice.domain.todo.entity;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import jakarta.persistence.*;
+
+/**
+ * Todo Counter Entity - Domain Object
+ * Per-user todo counts maintained incrementally by every write, so statistics are a primary-key read
+ */
+@Entity
+@Table(name = "todo_counters")
+public class TodoCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(name = "low_priority", nullable = false)
+    private long low;
+
+    @Column(name = "medium_priority", nullable = false)
+    private long medium;
+
+    @Column(name = "high_priority", nullable = false)
+    private long high;
+
+    // Bumped by every write to the user's todos; serves as the ETag of their todo list
+    @Column(nullable = false)
+    private long version;
+
+    // Default constructor for JPA
+    protected TodoCounter() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TodoCounts getCounts() {
+        return new TodoCounts(total, completed, low, medium, high);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.aliunal.todoservice.domain.todo.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Todo Tombstone Entity - Domain Object
+ * Marks a deleted todo so delta sync can tell clients to drop it; kept for the sync retention window
+ */
+@Entity
+@Table(name = "todo_tombstones")
+public class TodoTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    // Default constructor for JPA
+    protected TodoTombstone() {}
+
+    public TodoTombstone(Long todoId, Long userId, long changeSeq, Instant deletedAt) {
+        this.todoId = todoId;
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return todoId;
+    }
+
+    // Tombstones are only ever inserted (a todo is deleted once), so save() can persist without a merge lookup
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
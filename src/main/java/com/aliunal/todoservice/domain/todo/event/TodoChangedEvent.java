@@ -0,0 +1,30 @@
+package com.aliunal.todoservice.domain.todo.event;
+
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+
+/**
+ * Todo Changed Event - Domain Event
+ * Published by TodoService for every created, updated or deleted todo;
+ * listeners that keep derived state (search index, caches) react after the transaction commits
+ */
+public record TodoChangedEvent(Type type, Long userId, Long todoId, TodoResponse todo) {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    public static TodoChangedEvent created(Long userId, TodoResponse todo) {
+        return new TodoChangedEvent(Type.CREATED, userId, todo.id(), todo);
+    }
+    
+    public static TodoChangedEvent updated(Long userId, TodoResponse todo) {
+        return new TodoChangedEvent(Type.UPDATED, userId, todo.id(), todo);
+    }
+    
+    /** The deleted todo's last state is kept so listeners can still see what was removed */
+    public static TodoChangedEvent deleted(Long userId, TodoResponse todo) {
+        return new TodoChangedEvent(Type.DELETED, userId, todo.id(), todo);
+    }
+}
@@ -0,0 +1,24 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTodoCounterRepository {
+    Mono<TodoCounts> findByUserId(Long userId);
+    Mono<TodoCounts> sumAll();
+    
+    // Atomically adds the (signed) delta to the user's counters and bumps their change version,
+    // creating the row on first use; called by every todo write, even when the counts do not change.
+    // Emits the new version; the row stays locked until the transaction ends, so versions follow commit order
+    Mono<Long> add(Long userId, TodoCounts delta);
+    
+    // The user's change version (0 before their first write)
+    Mono<Long> findVersionByUserId(Long userId);
+    
+    // Row-locks the user's counters until the transaction ends (creating the row if absent). Writes take it before
+    // reading the todos they change, so concurrent writes to a user's todos compute their deltas one after another
+    Mono<TodoCounts> lockByUserId(Long userId);
+    
+    // Row-locks the counters of the todo's owner until the transaction ends, for writes by todo ID alone;
+    // no-op if the todo or its owner's counters do not exist
+    Mono<Void> lockByTodoId(Long todoId);
+}
@@ -0,0 +1,29 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveTodoRepository {
+    // Non-blocking counterpart of TodoRepository for the reactive stack; writes join the caller's reactive transaction
+    Mono<Todo> insert(Todo todo);
+    Mono<Todo> update(Todo todo);
+    Mono<Todo> findById(Long id);
+    Flux<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+    Mono<Void> deleteById(Long id);
+    Mono<Void> deleteAllById(Collection<Long> ids);
+    
+    // Read-only projections straight into the response DTO
+    Flux<TodoResponse> findAllResponses();
+    Flux<TodoResponse> findResponsesByUserId(Long userId);
+    Flux<TodoResponse> findResponsePageByUserId(Long userId, TodoCursor after, int limit);
+    Mono<TodoResponse> findResponseByIdAndUserId(Long id, Long userId);
+    Flux<TodoResponse> findResponsesByIdIn(Collection<Long> ids);
+    Flux<TodoResponse> findResponsesByIdInAndUserId(Collection<Long> ids, Long userId);
+    Flux<TodoResponse> findResponsesByDone(boolean done);
+    Flux<TodoResponse> findResponsesByUserIdAndDone(Long userId, boolean done);
+    Flux<TodoResponse> findResponsesByUserIdChangedAfter(Long userId, long changeSeq);
+}
@@ -0,0 +1,12 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveTodoTombstoneRepository {
+    // Records that the user's todos were deleted by the write with the given change version
+    Mono<Void> saveAll(Long userId, Collection<Long> todoIds, long changeSeq);
+    Flux<Long> findTodoIdsByUserIdChangedAfter(Long userId, long changeSeq);
+}
@@ -0,0 +1,27 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface TodoCounterRepository {
+    Optional<TodoCounts> findByUserId(Long userId);
+    Map<Long, TodoCounts> findAll();
+    TodoCounts sumAll();
+    
+    // Atomically adds the (signed) delta to the user's counters and bumps their change version,
+    // creating the row on first use; called by every todo write, even when the counts do not change.
+    // Returns the new version; the row stays locked until the transaction ends, so versions follow commit order
+    long add(Long userId, TodoCounts delta);
+    
+    // The user's change version (0 before their first write)
+    long findVersionByUserId(Long userId);
+    
+    // Row-locks the user's counters until the transaction ends (creating the row if absent). Writes take it before
+    // reading the todos they change, so concurrent writes to a user's todos compute their deltas one after another
+    TodoCounts lockByUserId(Long userId);
+    
+    // Row-locks the counters of the todo's owner until the transaction ends, for writes by todo ID alone;
+    // no-op if the todo or its owner's counters do not exist
+    void lockByTodoId(Long todoId);
+    void replace(Long userId, TodoCounts counts);
+}
@@ -0,0 +1,58 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.shared.enums.Priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Todo Counts - Domain Value
+ * Total, completed and per-priority todo counts; also used as a signed delta when counters change
+ */
+public record TodoCounts(long total, long completed, long low, long medium, long high) {
+
+    public static final TodoCounts ZERO = new TodoCounts(0, 0, 0, 0, 0);
+
+    /** Contribution of a single todo with the given state */
+    public static TodoCounts of(boolean done, Priority priority) {
+        return new TodoCounts(1, done ? 1 : 0,
+                priority == Priority.LOW ? 1 : 0,
+                priority == Priority.MEDIUM ? 1 : 0,
+                priority == Priority.HIGH ? 1 : 0);
+    }
+
+    /** Contribution of the todo in its current state */
+    public static TodoCounts of(Todo todo) {
+        return of(todo.isDone(), todo.getPriority());
+    }
+
+    public TodoCounts plus(TodoCounts other) {
+        return new TodoCounts(total + other.total, completed + other.completed,
+                low + other.low, medium + other.medium, high + other.high);
+    }
+
+    public TodoCounts minus(TodoCounts other) {
+        return plus(other.times(-1));
+    }
+
+    public TodoCounts times(long factor) {
+        return new TodoCounts(total * factor, completed * factor, low * factor, medium * factor, high * factor);
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+
+    public long pending() {
+        return total - completed;
+    }
+
+    public Map<Priority, Long> byPriority() {
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        byPriority.put(Priority.LOW, low);
+        byPriority.put(Priority.MEDIUM, medium);
+        byPriority.put(Priority.HIGH, high);
+        return byPriority;
+    }
+}
@@ -0,0 +1,58 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Todo Cursor - Keyset Position
+ * Identifies the last row of a page by its (createdAt, id) sort key
+ */
+public record TodoCursor(Instant createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Create cursor positioned after the given todo
+     */
+    public static TodoCursor after(Todo todo) {
+        return new TodoCursor(todo.getCreatedAt(), todo.getId());
+    }
+
+    /**
+     * Create cursor positioned after the given todo response
+     */
+    public static TodoCursor after(TodoResponse todo) {
+        return new TodoCursor(todo.createdAt(), todo.id());
+    }
+
+    /**
+     * Decode an opaque cursor string as handed out to clients
+     */
+    public static TodoCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TodoCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encode cursor as an opaque, URL-safe string
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import com.aliunal.todoservice.shared.enums.Priority;
+
+import java.time.Instant;
+
+/**
+ * Todo Export Row - Domain Value
+ * A todo with its owner as a flat row: written by the admin-wide export, and read as archival candidates;
+ * archived marks rows read from the archive
+ */
+public record TodoExportRow(Long id, Long userId, String title, String description, boolean done,
+                            Priority priority, Instant createdAt, Instant updatedAt, boolean archived) {
+}
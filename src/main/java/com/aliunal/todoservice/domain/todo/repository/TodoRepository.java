@@ -1,23 +1,63 @@
 package com.aliunal.todoservice.domain.todo.repository;
 
 import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
 import com.aliunal.todoservice.shared.enums.Priority;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository {
     Todo save(Todo todo);
+    List<Todo> saveAll(List<Todo> todos);
     List<Todo> findAll();
     List<Todo> findByUserId(Long userId);
     List<Todo> findByDone(boolean done);
     List<Todo> findByUserIdAndDone(Long userId, boolean done);
     Optional<Todo> findById(Long id);
     Optional<Todo> findByIdAndUserId(Long id, Long userId);
+    List<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
     List<Todo> findByTitleContainingIgnoreCase(String title);
     List<Todo> findByPriority(Priority priority);
     boolean existsById(Long id);
     void deleteById(Long id);
+    void deleteAll(List<Todo> todos);
     long count();
     long countByDone(boolean done);
+    
+    // Aggregates over the todos table, used to reconcile the incrementally maintained counters
+    Map<Long, TodoCounts> countByUser();
+    TodoCounts countForUser(Long userId);
+    
+    // Read-only projections straight into the response DTO (no managed entities)
+    List<TodoResponse> findAllResponses();
+    List<TodoResponse> findResponsesByUserId(Long userId);
+    List<TodoResponse> findResponsePageByUserId(Long userId, TodoCursor after, int limit);
+    Optional<TodoResponse> findResponseById(Long id);
+    Optional<TodoResponse> findResponseByIdAndUserId(Long id, Long userId);
+    List<TodoResponse> findResponsesByIdInAndUserId(Collection<Long> ids, Long userId);
+    List<TodoResponse> findResponsesByDone(boolean done);
+    List<TodoResponse> findResponsesByUserIdAndDone(Long userId, boolean done);
+    List<TodoResponse> findResponsesByIdIn(Collection<Long> ids);
+    List<TodoResponse> findResponsesByPriority(Priority priority);
+    List<TodoResponse> findResponsesByUserIdChangedAfter(Long userId, long changeSeq);
+    Stream<TodoResponse> streamResponses();
+    Stream<TodoResponse> streamResponsesByUserId(Long userId);
+    Stream<TodoSearchDocument> streamSearchDocuments();
+    
+    // Export in id order over [fromId, toId), so ranges can be read in parallel; archived todos keep their ids,
+    // so the max id covers the archive too
+    long findMaxId();
+    Stream<TodoExportRow> streamExportRows(long fromId, long toId);
+    Stream<TodoExportRow> streamArchivedExportRows(long fromId, long toId);
+    
+    // Archival: completed todos last updated before the cutoff (oldest ids first) move into the archive,
+    // which is read only on request
+    List<TodoExportRow> findArchivable(Instant updatedBefore, int limit);
+    void archiveAll(List<Todo> todos, Instant archivedAt);
+    List<TodoResponse> findArchivedResponsesByUserId(Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+/**
+ * Todo Search Document - Domain Value
+ * The fields of a todo that are indexed for full-text search
+ */
+public record TodoSearchDocument(Long id, Long userId, String title, String description, boolean done) {
+}
@@ -0,0 +1,17 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TodoSearchIndex {
+    void upsert(TodoSearchDocument document);
+    void delete(Long todoId);
+    
+    // Ids of the best matches for the query across title and description, best first;
+    // userId and done are optional filters
+    List<Long> search(Long userId, String query, Boolean done, int limit);
+    
+    // Replaces the whole index content with the given documents
+    void rebuild(Stream<TodoSearchDocument> documents);
+    long size();
+}
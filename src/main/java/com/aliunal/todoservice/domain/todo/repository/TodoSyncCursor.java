@@ -0,0 +1,42 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Todo Sync Cursor - Delta Sync Position
+ * The user's change version a client has caught up to, and when the cursor was issued
+ * (tombstones are only retained for a while, so old cursors can no longer be served as deltas)
+ */
+public record TodoSyncCursor(long version, Instant issuedAt) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decode an opaque cursor string as handed out to clients
+     */
+    public static TodoSyncCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid sync cursor");
+            }
+            return new TodoSyncCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Instant.parse(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid sync cursor", e);
+        }
+    }
+
+    /**
+     * Encode cursor as an opaque, URL-safe string
+     */
+    public String encode() {
+        String raw = version + SEPARATOR + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
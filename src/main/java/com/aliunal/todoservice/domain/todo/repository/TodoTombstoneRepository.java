@@ -0,0 +1,14 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TodoTombstoneRepository {
+    // Records that the user's todos were deleted by the write with the given change version
+    void saveAll(Long userId, Collection<Long> todoIds, long changeSeq);
+    List<Long> findTodoIdsByUserIdChangedAfter(Long userId, long changeSeq);
+    
+    // Drops tombstones of deletions before the cutoff; returns how many were removed
+    int deleteDeletedBefore(Instant cutoff);
+}
@@ -0,0 +1,17 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+
+import java.util.List;
+
+/**
+ * Versioned Todo List - Domain Value
+ * All todos of a user together with the change version read just before them, so the todos are at least as new as
+ * the version; cached as one value, so a cached list always carries the version it was read at
+ */
+public record VersionedTodoList(long version, List<TodoResponse> todos) {
+
+    public VersionedTodoList {
+        todos = List.copyOf(todos);
+    }
+}
@@ -0,0 +1,354 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoTombstoneRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchIndex;
+import com.aliunal.todoservice.domain.todo.repository.TodoSyncCursor;
+import com.aliunal.todoservice.shared.dto.TodoBulkUpdateRequest;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoPage;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.dto.TodoStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive Todo Domain Service
+ * Non-blocking counterpart of {@link TodoService} for the reactive stack. Applies the same domain rules
+ * (validation, paging, counters, change events); writes run in one reactive transaction and their
+ * change events are published once it has committed.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTodoService {
+    
+    private final ReactiveTodoRepository todoRepository;
+    private final ReactiveTodoCounterRepository todoCounterRepository;
+    private final ReactiveTodoTombstoneRepository todoTombstoneRepository;
+    private final TodoSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration tombstoneRetention;
+    
+    public ReactiveTodoService(ReactiveTodoRepository todoRepository,
+                               ReactiveTodoCounterRepository todoCounterRepository,
+                               ReactiveTodoTombstoneRepository todoTombstoneRepository,
+                               TodoSearchIndex searchIndex, ApplicationEventPublisher eventPublisher,
+                               TransactionalOperator transactionalOperator,
+                               @Value("${app.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.todoRepository = todoRepository;
+        this.todoCounterRepository = todoCounterRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+    
+    /**
+     * Find all todos ordered by creation date
+     */
+    public Flux<TodoResponse> findAll() {
+        return todoRepository.findAllResponses();
+    }
+    
+    /**
+     * Find all todos for a specific user, streamed row by row
+     */
+    public Flux<TodoResponse> findAllForUser(Long userId) {
+        return todoRepository.findResponsesByUserId(userId);
+    }
+    
+    /**
+     * Find one keyset page of todos for a specific user, ordered by creation date
+     */
+    public Mono<TodoPage> findPageForUser(Long userId, String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = TodoService.pageSize(limit);
+            // Fetch one extra row to find out whether another page follows
+            return todoRepository.findResponsePageByUserId(userId, TodoService.decodeCursor(cursor), pageSize + 1)
+                    .collectList()
+                    .map(todos -> TodoService.toPage(todos, pageSize));
+        });
+    }
+    
+    /**
+     * Find todo by ID for a specific user
+     */
+    public Mono<TodoResponse> findByIdForUser(Long id, Long userId) {
+        return todoRepository.findResponseByIdAndUserId(id, userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Todo not found or access denied")));
+    }
+    
+    /**
+     * Find many todos of a specific user by their IDs
+     */
+    public Flux<TodoResponse> findAllByIdsForUser(List<Long> ids, Long userId) {
+        return Flux.defer(() -> {
+            TodoService.validateBulkSize(ids);
+            return todoRepository.findResponsesByIdInAndUserId(ids, userId);
+        });
+    }
+    
+    /**
+     * Find todos by completion status
+     */
+    public Flux<TodoResponse> findByStatus(boolean done) {
+        return todoRepository.findResponsesByDone(done);
+    }
+    
+    /**
+     * Find a user's todos by completion status
+     */
+    public Flux<TodoResponse> findByStatusForUser(Long userId, boolean done) {
+        return todoRepository.findResponsesByUserIdAndDone(userId, done);
+    }
+    
+    /**
+     * Search todos of all users by title and description, best matches first
+     */
+    public Mono<List<TodoResponse>> searchByTitle(String title) {
+        return search(null, title, null)
+                .flatMap(rankedIds -> todoRepository.findResponsesByIdIn(rankedIds).collectList()
+                        .map(todos -> TodoService.inRankOrder(rankedIds, todos)));
+    }
+    
+    /**
+     * Full-text search over a user's todo titles and descriptions, best matches first
+     */
+    public Mono<List<TodoResponse>> searchForUser(Long userId, String query, Boolean done) {
+        return search(userId, query, done)
+                .flatMap(rankedIds -> todoRepository.findResponsesByIdInAndUserId(rankedIds, userId).collectList()
+                        .map(todos -> TodoService.inRankOrder(rankedIds, todos)));
+    }
+    
+    /**
+     * Create a new todo for a specific user
+     */
+    public Mono<TodoResponse> createForUser(TodoRequest request, Long userId) {
+        return committed(Mono.defer(() -> {
+            TodoService.validateTodoRequest(request);
+            Todo todo = TodoService.newTodo(request, userId);
+            return todoCounterRepository.add(userId, TodoCounts.of(todo))
+                    .flatMap(version -> {
+                        todo.recordChange(version);
+                        return todoRepository.insert(todo);
+                    });
+        })).map(this::publishCreated);
+    }
+    
+    /**
+     * Create many todos for a specific user in one transaction
+     */
+    public Mono<List<TodoResponse>> createAllForUser(List<TodoRequest> requests, Long userId) {
+        return committed(Mono.defer(() -> {
+            requests.forEach(TodoService::validateTodoRequest);
+            List<Todo> todos = requests.stream().map(request -> TodoService.newTodo(request, userId)).toList();
+            return todoCounterRepository.add(userId, TodoService.sumCounts(todos))
+                    .flatMapMany(version -> Flux.fromIterable(todos)
+                            .doOnNext(todo -> todo.recordChange(version))
+                            .concatMap(todoRepository::insert))
+                    .collectList();
+        })).map(saved -> saved.stream().map(this::publishCreated).toList());
+    }
+    
+    /**
+     * Update many todos of a specific user in one transaction
+     */
+    public Mono<List<TodoResponse>> updateAllForUser(List<TodoBulkUpdateRequest.Item> items, Long userId) {
+        List<Long> ids = items.stream().map(TodoBulkUpdateRequest.Item::id).toList();
+        return committed(Mono.defer(() -> {
+            items.forEach(item -> TodoService.validateTodoRequest(item.changes()));
+            return findOwnedTodosForWrite(ids, userId).flatMap(todosById -> {
+                List<Todo> updated = new ArrayList<>(items.size());
+                TodoCounts delta = TodoCounts.ZERO;
+                for (TodoBulkUpdateRequest.Item item : items) {
+                    Todo todo = todosById.get(item.id());
+                    TodoCounts before = TodoCounts.of(todo);
+                    TodoService.applyUserUpdate(todo, item.changes());
+                    delta = delta.plus(TodoCounts.of(todo).minus(before));
+                    updated.add(todo);
+                }
+                return todoCounterRepository.add(userId, delta)
+                        .flatMapMany(version -> Flux.fromIterable(updated)
+                                .doOnNext(todo -> todo.recordChange(version))
+                                .concatMap(todoRepository::update))
+                        .collectList();
+            });
+        })).map(saved -> saved.stream().map(this::publishUpdated).toList());
+    }
+    
+    /**
+     * Delete many todos of a specific user in one transaction
+     */
+    public Mono<Void> deleteAllForUser(List<Long> ids, Long userId) {
+        return committed(findOwnedTodosForWrite(ids, userId)
+                .flatMap(todosById -> todoRepository.deleteAllById(todosById.keySet())
+                        .then(todoCounterRepository.add(userId, TodoService.sumCounts(todosById.values()).times(-1)))
+                        .flatMap(version -> todoTombstoneRepository.saveAll(userId, todosById.keySet(), version))
+                        .thenReturn(List.copyOf(todosById.values()))))
+                .doOnNext(deleted -> deleted.forEach(this::publishDeleted))
+                .then();
+    }
+    
+    /**
+     * Update an existing todo
+     */
+    public Mono<TodoResponse> update(Long id, TodoRequest request) {
+        return committed(Mono.defer(() -> {
+            TodoService.validateTodoRequest(request);
+            return findExistingForWrite(id).flatMap(todo -> {
+                TodoCounts before = TodoCounts.of(todo);
+                TodoService.applyPartialUpdate(todo, request);
+                return recordCountChange(todo, before).then(todoRepository.update(todo));
+            });
+        })).map(this::publishUpdated);
+    }
+    
+    /**
+     * Toggle todo completion status
+     */
+    public Mono<TodoResponse> toggleCompletion(Long id) {
+        return committed(findExistingForWrite(id).flatMap(todo -> {
+            TodoCounts before = TodoCounts.of(todo);
+            TodoService.toggle(todo);
+            return recordCountChange(todo, before).then(todoRepository.update(todo));
+        })).map(this::publishUpdated);
+    }
+    
+    /**
+     * Delete a todo
+     */
+    public Mono<Void> delete(Long id) {
+        return committed(findExistingForWrite(id).flatMap(todo -> todoRepository.deleteById(id)
+                        .then(todo.getUserId() != null
+                                ? todoCounterRepository.add(todo.getUserId(), TodoCounts.of(todo).times(-1))
+                                        .flatMap(version -> todoTombstoneRepository.saveAll(todo.getUserId(), List.of(id), version))
+                                : Mono.empty())
+                        .thenReturn(todo)))
+                .doOnNext(this::publishDeleted)
+                .then();
+    }
+    
+    /**
+     * Get todo statistics including priority breakdown
+     */
+    public Mono<TodoStatistics> getStatistics() {
+        return todoCounterRepository.sumAll()
+                .defaultIfEmpty(TodoCounts.ZERO)
+                .map(TodoStatistics::from);
+    }
+    
+    /**
+     * Get todo statistics of a specific user (primary-key read of the user's counters)
+     */
+    public Mono<TodoStatistics> getStatisticsForUser(Long userId) {
+        return todoCounterRepository.findByUserId(userId)
+                .defaultIfEmpty(TodoCounts.ZERO)
+                .map(TodoStatistics::from);
+    }
+    
+    /**
+     * Get the change version of a user's todos; every write bumps it, so it identifies the current state of all their todos
+     */
+    public Mono<Long> getVersionForUser(Long userId) {
+        return todoCounterRepository.findVersionByUserId(userId);
+    }
+    
+    /**
+     * Get the todos a user created or modified and the IDs of those deleted since a sync cursor;
+     * without a cursor, or with an expired one, all of the user's todos are returned with reset set
+     */
+    public Mono<TodoChanges> findChangesForUser(Long userId, String since) {
+        return Mono.defer(() -> {
+            TodoSyncCursor from = TodoService.resumableSyncCursor(since, tombstoneRetention);
+            // Read the version first: changes committed meanwhile are sent again next time rather than skipped
+            return todoCounterRepository.findVersionByUserId(userId).flatMap(version -> {
+                String cursor = new TodoSyncCursor(version, Instant.now()).encode();
+                if (from == null) {
+                    return todoRepository.findResponsesByUserId(userId).collectList()
+                            .map(todos -> new TodoChanges(todos, List.of(), cursor, true));
+                }
+                return todoRepository.findResponsesByUserIdChangedAfter(userId, from.version()).collectList()
+                        .zipWith(todoTombstoneRepository.findTodoIdsByUserIdChangedAfter(userId, from.version()).collectList())
+                        .map(changes -> new TodoChanges(changes.getT1(), changes.getT2(), cursor, false));
+            });
+        });
+    }
+    
+    /**
+     * Run the work in one transaction; downstream operators (event publishing) run after the commit, off the event loop
+     */
+    private <T> Mono<T> committed(Mono<T> work) {
+        return work.as(transactionalOperator::transactional)
+                .publishOn(Schedulers.boundedElastic());
+    }
+    
+    /**
+     * Ranked todo IDs from the search index; Lucene reads may touch disk, so they run on the bounded elastic pool
+     */
+    private Mono<List<Long>> search(Long userId, String query, Boolean done) {
+        return Mono.fromCallable(() -> searchIndex.search(userId, query, done, TodoService.MAX_SEARCH_RESULTS))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private Mono<Todo> findExisting(Long id) {
+        return todoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TodoNotFoundException("Todo not found with id: " + id)));
+    }
+    
+    /**
+     * Load a todo for a write once its owner's counters are locked, so concurrent writes to it see each other's
+     * result and compute their count deltas one after another
+     */
+    private Mono<Todo> findExistingForWrite(Long id) {
+        return todoCounterRepository.lockByTodoId(id).then(findExisting(id));
+    }
+    
+    private Mono<Map<Long, Todo>> findOwnedTodosForWrite(List<Long> ids, Long userId) {
+        return todoCounterRepository.lockByUserId(userId)
+                .then(todoRepository.findAllByIdInAndUserId(ids, userId).collectList())
+                .map(found -> TodoService.requireOwned(ids, found));
+    }
+    
+    private Mono<Void> recordCountChange(Todo todo, TodoCounts before) {
+        return todo.getUserId() != null
+                ? todoCounterRepository.add(todo.getUserId(), TodoCounts.of(todo).minus(before))
+                        .doOnNext(todo::recordChange)
+                        .then()
+                : Mono.empty();
+    }
+    
+    private TodoResponse publishCreated(Todo todo) {
+        TodoResponse response = TodoResponse.from(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(todo.getUserId(), response));
+        return response;
+    }
+    
+    private TodoResponse publishUpdated(Todo todo) {
+        TodoResponse response = TodoResponse.from(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(todo.getUserId(), response));
+        return response;
+    }
+    
+    private void publishDeleted(Todo todo) {
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(todo.getUserId(), TodoResponse.from(todo)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoTombstoneRepository;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Todo Archiver - Domain Service
+ * Moves completed todos that have not been touched for a while out of the live todos table into the archive.
+ * For everything but explicit archive reads an archived todo is gone: counters drop, a tombstone tells syncing
+ * clients to remove it and a deleted event evicts caches and the search index.
+ */
+@Service
+public class TodoArchiver {
+    
+    private final TodoRepository todoRepository;
+    private final TodoCounterRepository todoCounterRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public TodoArchiver(TodoRepository todoRepository, TodoCounterRepository todoCounterRepository,
+                        TodoTombstoneRepository todoTombstoneRepository, ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.todoCounterRepository = todoCounterRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * Archive up to batchSize todos completed and last updated before the cutoff, in one transaction; returns the
+     * number archived
+     */
+    @Transactional
+    public int archiveBatch(Instant updatedBefore, int batchSize) {
+        Map<Long, List<Long>> idsByUser = todoRepository.findArchivable(updatedBefore, batchSize).stream()
+                .filter(row -> row.userId() != null)
+                .collect(Collectors.groupingBy(TodoExportRow::userId, TreeMap::new,
+                        Collectors.mapping(TodoExportRow::id, Collectors.toList())));
+        
+        // Writers update the counter row before the todos, so holding the counter locks (taken in user id order)
+        // excludes them; the todos are then re-read and re-checked, as one may have been reopened meanwhile
+        Instant archivedAt = Instant.now();
+        List<Todo> archived = new ArrayList<>();
+        idsByUser.forEach((userId, ids) -> {
+            todoCounterRepository.lockByUserId(userId);
+            todoRepository.findAllByIdInAndUserId(ids, userId).stream()
+                    .filter(todo -> todo.isDone() && todo.getUpdatedAt().isBefore(updatedBefore))
+                    .forEach(archived::add);
+        });
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        todoRepository.archiveAll(archived, archivedAt);
+        
+        archived.stream()
+                .collect(Collectors.groupingBy(Todo::getUserId))
+                .forEach((userId, todos) -> {
+                    long version = todoCounterRepository.add(userId, TodoService.sumCounts(todos).times(-1));
+                    todoTombstoneRepository.saveAll(userId, todos.stream().map(Todo::getId).toList(), version);
+                });
+        archived.forEach(todo -> eventPublisher.publishEvent(TodoChangedEvent.deleted(todo.getUserId(), TodoResponse.from(todo))));
+        return archived.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Todo Counter Reconciler - Domain Service
+ * Recomputes the per-user todo counters from the todos table and corrects drift,
+ * e.g. after concurrent updates of the same todo or writes that bypassed the service
+ */
+@Service
+public class TodoCounterReconciler {
+    
+    private final TodoRepository todoRepository;
+    private final TodoCounterRepository todoCounterRepository;
+    
+    public TodoCounterReconciler(TodoRepository todoRepository, TodoCounterRepository todoCounterRepository) {
+        this.todoRepository = todoRepository;
+        this.todoCounterRepository = todoCounterRepository;
+    }
+    
+    /**
+     * Users whose stored counters differ from a fresh aggregate over their todos
+     */
+    @Transactional(readOnly = true)
+    public SortedSet<Long> findDriftedUsers() {
+        Map<Long, TodoCounts> actual = todoRepository.countByUser();
+        Map<Long, TodoCounts> stored = todoCounterRepository.findAll();
+        
+        Set<Long> userIds = new HashSet<>(actual.keySet());
+        userIds.addAll(stored.keySet());
+        
+        SortedSet<Long> drifted = new TreeSet<>();
+        for (Long userId : userIds) {
+            TodoCounts expected = actual.getOrDefault(userId, TodoCounts.ZERO);
+            if (!expected.equals(stored.getOrDefault(userId, TodoCounts.ZERO))) {
+                drifted.add(userId);
+            }
+        }
+        return drifted;
+    }
+    
+    /**
+     * Recount one user's todos while holding the counter row lock and overwrite the counters if they drifted
+     */
+    @Transactional
+    public Optional<Drift> reconcile(Long userId) {
+        // Writers update the counter row in their transaction, so holding its lock excludes them while we recount
+        TodoCounts stored = todoCounterRepository.lockByUserId(userId);
+        TodoCounts actual = todoRepository.countForUser(userId);
+        if (stored.equals(actual)) {
+            return Optional.empty();
+        }
+        todoCounterRepository.replace(userId, actual);
+        return Optional.of(new Drift(userId, stored, actual));
+    }
+    
+    /**
+     * Counters found for a user next to the values recomputed from the todos table
+     */
+    public record Drift(Long userId, TodoCounts stored, TodoCounts actual) {
+        
+        public TodoCounts difference() {
+            return stored.minus(actual);
+        }
+    }
+}
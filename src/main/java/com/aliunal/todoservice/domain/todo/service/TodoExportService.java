@@ -0,0 +1,117 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Todo Export Service - Domain Service
+ * Admin-wide export of all todos in id order, archived todos included and marked, so exports and backups stay
+ * complete after archival. The id space is cut into ranges that are read ahead in parallel,
+ * each through a forward-only cursor in its own read-only transaction, and handed to the consumer in order;
+ * at most parallelism ranges are buffered at any time. Ranges are separate snapshots, so todos written during
+ * the export may or may not be included. When the consumer fails, the ranges read ahead are interrupted and stop
+ * at their next row, releasing their connections.
+ */
+@Service
+public class TodoExportService {
+    
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate readOnly;
+    private final VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("todo-export-");
+    private final int parallelism;
+    private final int rangeSize;
+    
+    public TodoExportService(TodoRepository todoRepository, PlatformTransactionManager transactionManager,
+                             @Value("${app.transfer.export-parallelism:4}") int parallelism,
+                             @Value("${app.transfer.export-range-size:5000}") int rangeSize) {
+        this.todoRepository = todoRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.parallelism = Math.max(1, parallelism);
+        this.rangeSize = Math.max(1, rangeSize);
+    }
+    
+    /**
+     * Stream all todos, live and archived, to the consumer in id order
+     */
+    public void exportAll(Consumer<TodoExportRow> consumer) {
+        long maxId = Objects.requireNonNull(readOnly.execute(status -> todoRepository.findMaxId()));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Deque<Future<List<TodoExportRow>>> pending = new ArrayDeque<>();
+        long nextFrom = 0;
+        try {
+            while (nextFrom <= maxId || !pending.isEmpty()) {
+                while (pending.size() < parallelism && nextFrom <= maxId) {
+                    long fromId = nextFrom;
+                    long toId = fromId + rangeSize;
+                    pending.add(executor.submit(() -> readRange(fromId, toId, cancelled)));
+                    nextFrom = toId;
+                }
+                get(pending.poll()).forEach(consumer);
+            }
+        } finally {
+            // The consumer failed (e.g. the client went away): stop the ranges read ahead
+            cancelled.set(true);
+            pending.forEach(range -> range.cancel(true));
+        }
+    }
+    
+    private List<TodoExportRow> readRange(long fromId, long toId, AtomicBoolean cancelled) {
+        return readOnly.execute(status -> {
+            // Archived todos keep their ids; a todo archived between the two reads is in both, and the archived
+            // copy wins
+            Map<Long, TodoExportRow> rows = new TreeMap<>();
+            try (Stream<TodoExportRow> live = todoRepository.streamExportRows(fromId, toId)) {
+                collect(live, rows, cancelled);
+            }
+            try (Stream<TodoExportRow> archived = todoRepository.streamArchivedExportRows(fromId, toId)) {
+                collect(archived, rows, cancelled);
+            }
+            return new ArrayList<>(rows.values());
+        });
+    }
+    
+    private static void collect(Stream<TodoExportRow> range, Map<Long, TodoExportRow> rows, AtomicBoolean cancelled) {
+        for (Iterator<TodoExportRow> it = range.iterator(); it.hasNext(); ) {
+            if (cancelled.get()) {
+                throw new CancellationException("Export cancelled");
+            }
+            TodoExportRow row = it.next();
+            rows.put(row.id(), row);
+        }
+    }
+    
+    private static <T> T get(Future<T> range) {
+        try {
+            return range.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
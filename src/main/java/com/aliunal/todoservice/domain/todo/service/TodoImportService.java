@@ -0,0 +1,118 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.shared.dto.TodoImportReport;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Todo Import Service - Domain Service
+ * Creates todos from an incrementally parsed source of rows. Each row is validated like a single create request;
+ * valid rows are created in batches, each batch in its own transaction, so neither the source nor the created
+ * todos are ever held in memory as a whole. Rejected rows are reported with their line number.
+ */
+@Service
+public class TodoImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+    
+    // Errors listed in the report; further rejected rows are only counted
+    static final int MAX_REPORTED_ERRORS = 100;
+    
+    private final TodoService todoService;
+    private final Validator validator;
+    private final int batchSize;
+    
+    public TodoImportService(TodoService todoService, Validator validator,
+                             @Value("${app.transfer.import-batch-size:500}") int batchSize) {
+        this.todoService = todoService;
+        this.validator = validator;
+        this.batchSize = Math.min(batchSize, TodoService.MAX_BULK_SIZE);
+    }
+    
+    /**
+     * Import all rows for a specific user; batches committed before a failure stay imported
+     */
+    public TodoImportReport importForUser(Iterator<Row> rows, Long userId) {
+        List<TodoRequest> batch = new ArrayList<>(batchSize);
+        List<TodoImportReport.Error> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        int batches = 0;
+    
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new TodoImportReport.Error(row.line(), error));
+                }
+                continue;
+            }
+            batch.add(row.request());
+            if (batch.size() == batchSize) {
+                imported += createBatch(batch, userId);
+                batches++;
+                log.debug("Import for user {}: {} todos in {} batches so far", userId, imported, batches);
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += createBatch(batch, userId);
+            batches++;
+        }
+        log.info("Imported {} todos for user {} in {} batches, {} rows rejected", imported, userId, batches, rejected);
+        return new TodoImportReport(imported, rejected, batches, errors);
+    }
+    
+    private int createBatch(List<TodoRequest> batch, Long userId) {
+        // Through the service proxy: one transaction per batch
+        int created = todoService.createAllForUser(batch, userId).size();
+        batch.clear();
+        return created;
+    }
+    
+    /**
+     * The checks a single create request gets: bean validation of the DTO, then the service's own rules
+     */
+    private String validate(TodoRequest request) {
+        Set<ConstraintViolation<TodoRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            TodoService.validateTodoRequest(request);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+    
+    /**
+     * One parsed row of an import: the request, or the reason it could not be parsed
+     */
+    public record Row(long line, TodoRequest request, String error) {
+        
+        public static Row of(long line, TodoRequest request) {
+            return new Row(line, request, null);
+        }
+        
+        public static Row invalid(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+}
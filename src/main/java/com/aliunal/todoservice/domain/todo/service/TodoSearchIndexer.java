@@ -0,0 +1,69 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchIndex;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+/**
+ * Todo Search Indexer - Domain Service
+ * Keeps the full-text search index in step with committed todo writes and rebuilds it from the database
+ */
+@Service
+public class TodoSearchIndexer {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndexer.class);
+    
+    private final TodoRepository todoRepository;
+    private final TodoSearchIndex searchIndex;
+    
+    public TodoSearchIndexer(TodoRepository todoRepository, TodoSearchIndex searchIndex) {
+        this.todoRepository = todoRepository;
+        this.searchIndex = searchIndex;
+    }
+    
+    /**
+     * Apply a committed todo change to the index (rolled back writes never reach it)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        try {
+            if (event.type() == TodoChangedEvent.Type.DELETED) {
+                searchIndex.delete(event.todoId());
+            } else {
+                TodoResponse todo = event.todo();
+                searchIndex.upsert(new TodoSearchDocument(todo.id(), event.userId(), todo.title(), todo.description(), todo.done()));
+            }
+        } catch (RuntimeException e) {
+            // The write itself has committed; a stale entry is dropped by the database lookup and fixed by a rebuild
+            log.warn("Could not index todo {} after {}", event.todoId(), event.type(), e);
+        }
+    }
+    
+    /**
+     * Rebuild the whole index from the todos table, streaming rows in chunks
+     */
+    @Transactional(readOnly = true)
+    public long rebuild() {
+        try (Stream<TodoSearchDocument> documents = todoRepository.streamSearchDocuments()) {
+            searchIndex.rebuild(documents);
+        }
+        return searchIndex.size();
+    }
+    
+    /**
+     * Whether the index holds a different number of todos than the database
+     */
+    @Transactional(readOnly = true)
+    public boolean isOutOfSync() {
+        return searchIndex.size() != todoRepository.count();
+    }
+}
@@ -1,15 +1,41 @@
 package com.aliunal.todoservice.domain.todo.service;
 
 import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
 import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchIndex;
+import com.aliunal.todoservice.domain.todo.repository.TodoSyncCursor;
+import com.aliunal.todoservice.domain.todo.repository.TodoTombstoneRepository;
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.aliunal.todoservice.shared.config.CacheConfig;
+import com.aliunal.todoservice.shared.dto.TodoBulkUpdateRequest;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoPage;
 import com.aliunal.todoservice.shared.dto.TodoRequest;
 import com.aliunal.todoservice.shared.dto.TodoResponse;
 import com.aliunal.todoservice.shared.dto.TodoStatistics;
 import com.aliunal.todoservice.shared.enums.Priority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Todo Domain Service
@@ -19,10 +45,28 @@ import java.util.List;
 @Transactional
 public class TodoService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BULK_SIZE = 500;
+    public static final int MAX_SEARCH_RESULTS = 200;
+    
     private final TodoRepository todoRepository;
+    private final TodoCounterRepository todoCounterRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tombstoneRetention;
     
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoCounterRepository todoCounterRepository,
+                       TodoTombstoneRepository todoTombstoneRepository, TodoSearchIndex searchIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${app.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
         this.todoRepository = todoRepository;
+        this.todoCounterRepository = todoCounterRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.tombstoneRetention = tombstoneRetention;
     }
     
     /**
@@ -30,10 +74,7 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> findAll() {
-        return todoRepository.findAll()
-                .stream()
-                .map(TodoResponse::from)
-                .toList();
+        return todoRepository.findAllResponses();
     }
     
     /**
@@ -41,10 +82,52 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> findAllForUser(Long userId) {
-        return todoRepository.findByUserId(userId)
-                .stream()
-                .map(TodoResponse::from)
-                .toList();
+        return todoRepository.findResponsesByUserId(userId);
+    }
+    
+    /**
+     * Find all todos for a specific user with the change version they were read at, through the per-user list cache.
+     * A cached list is only evicted after the next commit, so it may trail the current version; its own version
+     * says which state it shows
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TODO_LISTS, key = "#userId", sync = true)
+    public VersionedTodoList findVersionedListForUser(Long userId) {
+        // Read the version before the todos: a write in between then only makes the version older than the list
+        long version = todoCounterRepository.findVersionByUserId(userId);
+        return new VersionedTodoList(version, todoRepository.findResponsesByUserId(userId));
+    }
+    
+    /**
+     * Stream all todos to the consumer row by row without materializing the result
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<TodoResponse> consumer) {
+        try (Stream<TodoResponse> todos = todoRepository.streamResponses()) {
+            todos.forEach(consumer);
+        }
+    }
+    
+    /**
+     * Stream all live todos of a specific user to the consumer row by row; archived todos are not included
+     */
+    @Transactional(readOnly = true)
+    public void streamAllForUser(Long userId, Consumer<TodoResponse> consumer) {
+        try (Stream<TodoResponse> todos = todoRepository.streamResponsesByUserId(userId)) {
+            todos.forEach(consumer);
+        }
+    }
+    
+    /**
+     * Find one keyset page of todos for a specific user, ordered by creation date
+     */
+    @Transactional(readOnly = true)
+    public TodoPage findPageForUser(Long userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        
+        // Fetch one extra row to find out whether another page follows
+        List<TodoResponse> todos = todoRepository.findResponsePageByUserId(userId, decodeCursor(cursor), pageSize + 1);
+        return toPage(todos, pageSize);
     }
     
     /**
@@ -52,9 +135,8 @@ public class TodoService {
      */
     @Transactional(readOnly = true) 
     public TodoResponse findByIdForUser(Long id, Long userId) {
-        Todo todo = todoRepository.findByIdAndUserId(id, userId)
+        return todoRepository.findResponseByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Todo not found or access denied"));
-        return TodoResponse.from(todo);
     }
     
     /**
@@ -63,33 +145,78 @@ public class TodoService {
     public TodoResponse updateForUser(Long id, TodoRequest request, Long userId) {
         validateTodoRequest(request);
         
+        // Counters locked before the read: a concurrent write to the same todo waits, then sees this one's result
+        todoCounterRepository.lockByUserId(userId);
         Todo todo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Todo not found or access denied"));
+        TodoCounts before = TodoCounts.of(todo);
                 
-        // Update content
-        todo.updateContent(request.title(), request.description(), request.priority());
+        applyUserUpdate(todo, request);
+        todo.recordChange(todoCounterRepository.add(userId, TodoCounts.of(todo).minus(before)));
         
-        // Update completion status
-        if (request.done() != null) {
-            if (request.done()) {
-                todo.markAsDone();
-            } else {
-                todo.markAsUndone();
-            }
+        Todo savedTodo = todoRepository.save(todo);
+        return publishUpdated(savedTodo);
+    }
+    
+    /**
+     * Update many todos of a specific user in one transaction (flushed as JDBC batches)
+     */
+    public List<TodoResponse> updateAllForUser(List<TodoBulkUpdateRequest.Item> items, Long userId) {
+        items.forEach(item -> validateTodoRequest(item.changes()));
+        
+        todoCounterRepository.lockByUserId(userId);
+        Map<Long, Todo> todosById = findOwnedTodos(items.stream().map(TodoBulkUpdateRequest.Item::id).toList(), userId);
+        
+        List<Todo> updated = new ArrayList<>(items.size());
+        TodoCounts delta = TodoCounts.ZERO;
+        for (TodoBulkUpdateRequest.Item item : items) {
+            Todo todo = todosById.get(item.id());
+            TodoCounts before = TodoCounts.of(todo);
+            applyUserUpdate(todo, item.changes());
+            delta = delta.plus(TodoCounts.of(todo).minus(before));
+            updated.add(todo);
         }
+        long version = todoCounterRepository.add(userId, delta);
+        updated.forEach(todo -> todo.recordChange(version));
         
-        Todo savedTodo = todoRepository.save(todo);
-        return TodoResponse.from(savedTodo);
+        return todoRepository.saveAll(updated)
+                .stream()
+                .map(this::publishUpdated)
+                .toList();
     }
     
     /**
      * Delete a todo for a specific user
      */
     public void deleteForUser(Long id, Long userId) {
-        if (!todoRepository.findByIdAndUserId(id, userId).isPresent()) {
-            throw new RuntimeException("Todo not found or access denied");
-        }
+        todoCounterRepository.lockByUserId(userId);
+        Todo todo = todoRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Todo not found or access denied"));
         todoRepository.deleteById(id);
+        publishDeleted(todo);
+        long version = todoCounterRepository.add(userId, TodoCounts.of(todo).times(-1));
+        todoTombstoneRepository.saveAll(userId, List.of(id), version);
+    }
+    
+    /**
+     * Delete many todos of a specific user in one transaction (flushed as JDBC batches)
+     */
+    public void deleteAllForUser(List<Long> ids, Long userId) {
+        todoCounterRepository.lockByUserId(userId);
+        Map<Long, Todo> todosById = findOwnedTodos(ids, userId);
+        todoRepository.deleteAll(List.copyOf(todosById.values()));
+        todosById.values().forEach(this::publishDeleted);
+        long version = todoCounterRepository.add(userId, sumCounts(todosById.values()).times(-1));
+        todoTombstoneRepository.saveAll(userId, todosById.keySet(), version);
+    }
+    
+    /**
+     * Find many todos of a specific user by their IDs
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findAllByIdsForUser(List<Long> ids, Long userId) {
+        validateBulkSize(ids);
+        return todoRepository.findResponsesByIdInAndUserId(ids, userId);
     }
     
     /**
@@ -97,9 +224,8 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public TodoResponse findById(Long id) {
-        Todo todo = todoRepository.findById(id)
+        return todoRepository.findResponseById(id)
                 .orElseThrow(() -> new TodoNotFoundException("Todo not found with id: " + id));
-        return TodoResponse.from(todo);
     }
     
     /**
@@ -107,20 +233,50 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> findByStatus(boolean done) {
-        return todoRepository.findByDone(done)
-                .stream()
-                .map(TodoResponse::from)
-                .toList();
+        return todoRepository.findResponsesByDone(done);
     }
     
     /**
-     * Search todos by title
+     * Search todos of all users by title and description, best matches first
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> searchByTitle(String title) {
-        return todoRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(TodoResponse::from)
+        List<Long> rankedIds = searchIndex.search(null, title, null, MAX_SEARCH_RESULTS);
+        return inRankOrder(rankedIds, todoRepository.findResponsesByIdIn(rankedIds));
+    }
+    
+    /**
+     * Full-text search over a user's todo titles and descriptions, best matches first
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> searchForUser(Long userId, String query, Boolean done) {
+        List<Long> rankedIds = searchIndex.search(userId, query, done, MAX_SEARCH_RESULTS);
+        // The database stays the source of truth: ids the index still knows but that are gone are dropped here
+        return inRankOrder(rankedIds, todoRepository.findResponsesByIdInAndUserId(rankedIds, userId));
+    }
+    
+    /**
+     * Find a user's todos by completion status
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findByStatusForUser(Long userId, boolean done) {
+        return todoRepository.findResponsesByUserIdAndDone(userId, done);
+    }
+    
+    /**
+     * Find a user's todos, optionally by completion status, together with their archived (always completed) todos,
+     * ordered by creation date
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findAllForUserIncludingArchived(Long userId, Boolean done) {
+        if (Boolean.FALSE.equals(done)) {
+            return todoRepository.findResponsesByUserIdAndDone(userId, false);
+        }
+        List<TodoResponse> live = done != null
+                ? todoRepository.findResponsesByUserIdAndDone(userId, true)
+                : todoRepository.findResponsesByUserId(userId);
+        return Stream.concat(live.stream(), todoRepository.findArchivedResponsesByUserId(userId).stream())
+                .sorted(Comparator.comparing(TodoResponse::createdAt).thenComparing(TodoResponse::id))
                 .toList();
     }
     
@@ -142,9 +298,10 @@ public class TodoService {
         if (request.done() != null && request.done()) {
             todo.markAsDone();
         }
+        todo.recordChange(todoCounterRepository.add(todo.getUserId(), TodoCounts.of(todo)));
         
         Todo savedTodo = todoRepository.save(todo);
-        return TodoResponse.from(savedTodo);
+        return publishCreated(savedTodo);
     }
     
     /**
@@ -153,19 +310,30 @@ public class TodoService {
     public TodoResponse createForUser(TodoRequest request, Long userId) {
         validateTodoRequest(request);
         
-        Todo todo = new Todo(request.title(), request.description(), userId);
+        // Counters first: the todo is stamped with the new change version before its insert is queued
+        Todo todo = newTodo(request, userId);
+        todo.recordChange(todoCounterRepository.add(userId, TodoCounts.of(todo)));
         
-        // Set priority (default to MEDIUM if not provided) 
-        if (request.priority() != null) {
-            todo.updatePriority(request.priority());
-        }
+        Todo savedTodo = todoRepository.save(todo);
+        return publishCreated(savedTodo);
+    }
+    
+    /**
+     * Create many todos for a specific user in one transaction (inserted as JDBC batches)
+     */
+    public List<TodoResponse> createAllForUser(List<TodoRequest> requests, Long userId) {
+        requests.forEach(TodoService::validateTodoRequest);
         
-        if (request.done() != null && request.done()) {
-            todo.markAsDone();
-        }
+        List<Todo> todos = requests.stream()
+                .map(request -> newTodo(request, userId))
+                .toList();
+        long version = todoCounterRepository.add(userId, sumCounts(todos));
+        todos.forEach(todo -> todo.recordChange(version));
         
-        Todo savedTodo = todoRepository.save(todo);
-        return TodoResponse.from(savedTodo);
+        return todoRepository.saveAll(todos)
+                .stream()
+                .map(this::publishCreated)
+                .toList();
     }
     
     /**
@@ -174,59 +342,47 @@ public class TodoService {
     public TodoResponse update(Long id, TodoRequest request) {
         validateTodoRequest(request);
         
+        todoCounterRepository.lockByTodoId(id);
         Todo todo = todoRepository.findById(id)
                 .orElseThrow(() -> new TodoNotFoundException("Todo not found with id: " + id));
+        TodoCounts before = TodoCounts.of(todo);
         
-        // Update content if provided
-        if (request.title() != null || request.description() != null) {
-            String newTitle = request.title() != null ? request.title() : todo.getTitle();
-            String newDescription = request.description() != null ? request.description() : todo.getDescription();
-            todo.updateContent(newTitle, newDescription);
-        }
-        
-        // Update priority if provided
-        if (request.priority() != null) {
-            todo.updatePriority(request.priority());
-        }
-        
-        // Update completion status if provided
-        if (request.done() != null) {
-            if (request.done()) {
-                todo.markAsDone();
-            } else {
-                todo.markAsUndone();
-            }
-        }
+        applyPartialUpdate(todo, request);
+        recordCountChange(todo, before);
         
         Todo savedTodo = todoRepository.save(todo);
-        return TodoResponse.from(savedTodo);
+        return publishUpdated(savedTodo);
     }
     
     /**
      * Delete a todo
      */
     public void delete(Long id) {
-        if (!todoRepository.existsById(id)) {
-            throw new TodoNotFoundException("Todo not found with id: " + id);
-        }
+        todoCounterRepository.lockByTodoId(id);
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new TodoNotFoundException("Todo not found with id: " + id));
         todoRepository.deleteById(id);
+        publishDeleted(todo);
+        if (todo.getUserId() != null) {
+            long version = todoCounterRepository.add(todo.getUserId(), TodoCounts.of(todo).times(-1));
+            todoTombstoneRepository.saveAll(todo.getUserId(), List.of(id), version);
+        }
     }
     
     /**
      * Toggle todo completion status
      */
     public TodoResponse toggleCompletion(Long id) {
+        todoCounterRepository.lockByTodoId(id);
         Todo todo = todoRepository.findById(id)
                 .orElseThrow(() -> new TodoNotFoundException("Todo not found with id: " + id));
+        TodoCounts before = TodoCounts.of(todo);
         
-        if (todo.isDone()) {
-            todo.markAsUndone();
-        } else {
-            todo.markAsDone();
-        }
+        toggle(todo);
+        recordCountChange(todo, before);
         
         Todo savedTodo = todoRepository.save(todo);
-        return TodoResponse.from(savedTodo);
+        return publishUpdated(savedTodo);
     }
     
     /**
@@ -234,10 +390,7 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> findByPriority(Priority priority) {
-        return todoRepository.findByPriority(priority)
-                .stream()
-                .map(TodoResponse::from)
-                .toList();
+        return todoRepository.findResponsesByPriority(priority);
     }
     
     /**
@@ -245,14 +398,222 @@ public class TodoService {
      */
     @Transactional(readOnly = true)
     public TodoStatistics getStatistics() {
-        long total = todoRepository.count();
-        long completed = todoRepository.countByDone(true);
-        long pending = total - completed;
+        return TodoStatistics.from(todoCounterRepository.sumAll());
+    }
+    
+    /**
+     * Get todo statistics of a specific user (primary-key read of the user's counters)
+     */
+    @Transactional(readOnly = true)
+    public TodoStatistics getStatisticsForUser(Long userId) {
+        return TodoStatistics.from(todoCounterRepository.findByUserId(userId).orElse(TodoCounts.ZERO));
+    }
+    
+    /**
+     * Get the change version of a user's todos; every write bumps it, so it identifies the current state of all their todos
+     */
+    @Transactional(readOnly = true)
+    public long getVersionForUser(Long userId) {
+        return todoCounterRepository.findVersionByUserId(userId);
+    }
+    
+    /**
+     * Get the todos a user created or modified and the IDs of those deleted since a sync cursor;
+     * without a cursor, or with an expired one, all of the user's todos are returned with reset set
+     */
+    @Transactional(readOnly = true)
+    public TodoChanges findChangesForUser(Long userId, String since) {
+        TodoSyncCursor from = resumableSyncCursor(since, tombstoneRetention);
+        // Read the version first: changes committed meanwhile are sent again next time rather than skipped
+        String cursor = new TodoSyncCursor(todoCounterRepository.findVersionByUserId(userId), Instant.now()).encode();
+        
+        if (from == null) {
+            // Straight from the table: the cached list is only evicted after a commit, so it may trail the version
+            try (Stream<TodoResponse> todos = todoRepository.streamResponsesByUserId(userId)) {
+                return new TodoChanges(todos.toList(), List.of(), cursor, true);
+            }
+        }
+        return new TodoChanges(
+                todoRepository.findResponsesByUserIdChangedAfter(userId, from.version()),
+                todoTombstoneRepository.findTodoIdsByUserIdChangedAfter(userId, from.version()),
+                cursor,
+                false);
+    }
+    
+    /**
+     * Drop tombstones older than the sync retention window; cursors that old are answered with a full resync
+     */
+    public int purgeExpiredTombstones() {
+        return todoTombstoneRepository.deleteDeletedBefore(Instant.now().minus(tombstoneRetention));
+    }
+    
+    private TodoResponse publishCreated(Todo todo) {
+        TodoResponse response = TodoResponse.from(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(todo.getUserId(), response));
+        return response;
+    }
+    
+    private TodoResponse publishUpdated(Todo todo) {
+        TodoResponse response = TodoResponse.from(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(todo.getUserId(), response));
+        return response;
+    }
+    
+    private void publishDeleted(Todo todo) {
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(todo.getUserId(), TodoResponse.from(todo)));
+    }
+    
+    // Domain rules below are shared with ReactiveTodoService, so both stacks behave the same
+    
+    static int pageSize(Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+    
+    static TodoCursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? TodoCursor.decode(cursor) : null;
+    }
+    
+    /**
+     * Cut a page from up to pageSize + 1 rows; the extra row only signals that another page follows
+     */
+    static TodoPage toPage(List<TodoResponse> todos, int pageSize) {
+        boolean hasMore = todos.size() > pageSize;
+        List<TodoResponse> page = hasMore ? todos.subList(0, pageSize) : todos;
+        
+        String nextCursor = hasMore ? TodoCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new TodoPage(page, nextCursor);
+    }
+    
+    static void validateBulkSize(List<Long> ids) {
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " ids per request");
+        }
+    }
+    
+    /**
+     * Decode a delta-sync cursor, or null when there is none or it is too old to be served as a delta
+     */
+    static TodoSyncCursor resumableSyncCursor(String since, Duration tombstoneRetention) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        TodoSyncCursor cursor = TodoSyncCursor.decode(since);
+        // Deletions from before the retention window have lost their tombstones, so a delta could miss them
+        return cursor.issuedAt().isAfter(Instant.now().minus(tombstoneRetention)) ? cursor : null;
+    }
+    
+    static List<TodoResponse> inRankOrder(List<Long> rankedIds, List<TodoResponse> todos) {
+        Map<Long, TodoResponse> todosById = todos.stream()
+                .collect(Collectors.toMap(TodoResponse::id, Function.identity()));
+        return rankedIds.stream()
+                .map(todosById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Stamp the todo with the change version of its count delta; before it is saved, since sharded saves write at once
+     */
+    private void recordCountChange(Todo todo, TodoCounts before) {
+        if (todo.getUserId() != null) {
+            todo.recordChange(todoCounterRepository.add(todo.getUserId(), TodoCounts.of(todo).minus(before)));
+        }
+    }
+    
+    static TodoCounts sumCounts(Collection<Todo> todos) {
+        return todos.stream()
+                .map(TodoCounts::of)
+                .reduce(TodoCounts.ZERO, TodoCounts::plus);
+    }
+    
+    static Todo newTodo(TodoRequest request, Long userId) {
+        Todo todo = new Todo(request.title(), request.description(), userId);
+        
+        // Set priority (default to MEDIUM if not provided) 
+        if (request.priority() != null) {
+            todo.updatePriority(request.priority());
+        }
+        
+        if (request.done() != null && request.done()) {
+            todo.markAsDone();
+        }
+        return todo;
+    }
+    
+    static void applyUserUpdate(Todo todo, TodoRequest request) {
+        // Update content
+        todo.updateContent(request.title(), request.description(), request.priority());
+        
+        // Update completion status
+        if (request.done() != null) {
+            if (request.done()) {
+                todo.markAsDone();
+            } else {
+                todo.markAsUndone();
+            }
+        }
+    }
+    
+    /**
+     * Update only the fields present in the request
+     */
+    static void applyPartialUpdate(Todo todo, TodoRequest request) {
+        // Update content if provided
+        if (request.title() != null || request.description() != null) {
+            String newTitle = request.title() != null ? request.title() : todo.getTitle();
+            String newDescription = request.description() != null ? request.description() : todo.getDescription();
+            todo.updateContent(newTitle, newDescription);
+        }
+        
+        // Update priority if provided
+        if (request.priority() != null) {
+            todo.updatePriority(request.priority());
+        }
         
-        return new TodoStatistics(total, completed, pending);
+        // Update completion status if provided
+        if (request.done() != null) {
+            if (request.done()) {
+                todo.markAsDone();
+            } else {
+                todo.markAsUndone();
+            }
+        }
+    }
+    
+    static void toggle(Todo todo) {
+        if (todo.isDone()) {
+            todo.markAsUndone();
+        } else {
+            todo.markAsDone();
+        }
+    }
+    
+    /**
+     * Load todos of a user by ID, failing if any of them is missing or owned by someone else
+     */
+    private Map<Long, Todo> findOwnedTodos(List<Long> ids, Long userId) {
+        return requireOwned(ids, todoRepository.findAllByIdInAndUserId(ids, userId));
+    }
+    
+    static Map<Long, Todo> requireOwned(List<Long> ids, List<Todo> found) {
+        Map<Long, Todo> todosById = found.stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        
+        List<Long> missing = ids.stream()
+                .filter(id -> !todosById.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new TodoNotFoundException("Todos not found or access denied: " + missing);
+        }
+        return todosById;
     }
     
-    private void validateTodoRequest(TodoRequest request) {
+    static void validateTodoRequest(TodoRequest request) {
         if (request.title() != null && request.title().trim().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be empty");
         }
@@ -11,8 +11,10 @@ import java.time.Instant;
 @Table(name = "users")
 public class User {
     
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
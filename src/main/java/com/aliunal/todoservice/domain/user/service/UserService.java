@@ -2,8 +2,10 @@ package com.aliunal.todoservice.domain.user.service;
 
 import com.aliunal.todoservice.domain.user.entity.User;
 import com.aliunal.todoservice.domain.user.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -26,7 +28,9 @@ public class UserService {
     
     /**
      * Register new user with email and password
+     * Runs without a surrounding transaction so no database connection is held while the password is hashed
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User registerEmailUser(String email, String username, String rawPassword) {
         if (userRepository.existsByEmail(email)) {
             throw new UserAlreadyExistsException("User with email " + email + " already exists");
@@ -35,7 +39,12 @@ public class UserService {
         String hashedPassword = passwordEncoder.encode(rawPassword);
         User user = new User(email, username, hashedPassword);
         
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently between the check and the insert
+            throw new UserAlreadyExistsException("User with email " + email + " already exists");
+        }
     }
     
     /**
@@ -85,8 +94,9 @@ public class UserService {
     
     /**
      * Authenticate email user
+     * Runs without a surrounding transaction so no database connection is held while the password is verified
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> authenticateEmailUser(String email, String rawPassword) {
         Optional<User> userOpt = userRepository.findByEmail(email);
         
@@ -0,0 +1,31 @@
+package com.aliunal.todoservice.infrastructure.cache;
+
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import com.aliunal.todoservice.shared.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Todo List Cache Invalidator - Infrastructure Layer
+ * Evicts a user's cached todo list once a change to one of their todos has committed.
+ * Lists are loaded atomically per user (sync cache reads), so an eviction waits for an in-flight load
+ * and removes it; a list read before the commit can never outlive the change.
+ */
+@Component
+public class TodoListCacheInvalidator {
+    
+    private final Cache todoLists;
+    
+    public TodoListCacheInvalidator(CacheManager cacheManager) {
+        this.todoLists = cacheManager.getCache(CacheConfig.TODO_LISTS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.userId() != null) {
+            todoLists.evict(event.userId());
+        }
+    }
+}
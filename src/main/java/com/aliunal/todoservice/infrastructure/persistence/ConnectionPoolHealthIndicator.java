@@ -0,0 +1,56 @@
+package com.aliunal.todoservice.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Connection Pool Health Indicator - Infrastructure Layer
+ * Reports the JDBC pool as out of service while at least the configured number of threads wait for a
+ * connection, so readiness fails and traffic is steered away before requests time out on the pool.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+    
+    private final DataSource dataSource;
+    private final int maxWaiting;
+    
+    public ConnectionPoolHealthIndicator(DataSource dataSource,
+                                         @Value("${app.health.connection-pool.max-waiting:20}") int maxWaiting) {
+        this.dataSource = dataSource;
+        this.maxWaiting = maxWaiting;
+    }
+    
+    @Override
+    public Health health() {
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "Connection pool not started").build();
+        }
+        int waiting = pool.getThreadsAwaitingConnection();
+        Health.Builder health = waiting >= maxWaiting ? Health.outOfService() : Health.up();
+        return health
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("waiting", waiting)
+                .withDetail("maxWaiting", maxWaiting)
+                .build();
+    }
+    
+    private HikariPoolMXBean pool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.aliunal.todoservice.infrastructure.persistence;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Query Monitor - Infrastructure Layer
+ * Counts and times every JDBC statement Hibernate executes, per thread, and logs statements slower than
+ * app.persistence.slow-query-threshold. Logged SQL carries placeholders only: bind values never reach the log
+ * and quoted literals are masked. A {@link Tracker} started by QueryStatisticsFilter scopes the totals to a request.
+ */
+@Component
+public class QueryMonitor implements HibernatePropertiesCustomizer, StatementInspector {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryMonitor.class);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    
+    private static final ThreadLocal<Tracker> TRACKER = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_SQL = new ThreadLocal<>();
+    // Hibernate instantiates SessionListener itself, so the threshold is shared statically
+    private static volatile long slowQueryThresholdNanos = Long.MAX_VALUE;
+    
+    public QueryMonitor(@Value("${app.persistence.slow-query-threshold:250ms}") Duration slowQueryThreshold) {
+        slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // An explicitly configured inspector (e.g. in tests) wins; slow queries are then logged without SQL
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SessionListener.class.getName());
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        CURRENT_SQL.set(sql);
+        return sql;
+    }
+    
+    /**
+     * Start collecting statement totals on the current thread; pair with {@link #stopTracking()}
+     */
+    public static Tracker startTracking() {
+        Tracker tracker = new Tracker();
+        TRACKER.set(tracker);
+        return tracker;
+    }
+    
+    public static void stopTracking() {
+        TRACKER.remove();
+    }
+    
+    static String redact(String sql) {
+        return sql == null ? "<unknown statement>" : STRING_LITERAL.matcher(sql).replaceAll("'?'");
+    }
+    
+    private static void executed(long elapsedNanos) {
+        Tracker tracker = TRACKER.get();
+        if (tracker != null) {
+            tracker.record(elapsedNanos);
+        }
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            log.warn("Slow query ({} ms): {}", Duration.ofNanos(elapsedNanos).toMillis(), redact(CURRENT_SQL.get()));
+        }
+    }
+    
+    /**
+     * Statement count and JDBC execution time accumulated on one thread
+     */
+    public static final class Tracker {
+        
+        private int queryCount;
+        private long elapsedNanos;
+        
+        private void record(long nanos) {
+            queryCount++;
+            elapsedNanos += nanos;
+        }
+        
+        public int queryCount() {
+            return queryCount;
+        }
+        
+        public Duration elapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+    }
+    
+    /**
+     * Per-session Hibernate listener; a JDBC batch counts as one statement (one round trip)
+     */
+    public static class SessionListener implements SessionEventListener {
+        
+        private long startedAt;
+        
+        @Override
+        public void jdbcExecuteStatementStart() {
+            startedAt = System.nanoTime();
+        }
+        
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed(System.nanoTime() - startedAt);
+        }
+        
+        @Override
+        public void jdbcExecuteBatchStart() {
+            startedAt = System.nanoTime();
+        }
+        
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed(System.nanoTime() - startedAt);
+        }
+    }
+}
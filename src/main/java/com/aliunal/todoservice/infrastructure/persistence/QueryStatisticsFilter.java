@@ -0,0 +1,115 @@
+package com.aliunal.todoservice.infrastructure.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Query Statistics Filter - Infrastructure Layer
+ * Tracks the statements each request issues (see QueryMonitor) and records them in the db.request.queries summary.
+ * With app.persistence.query-headers the totals are also returned as X-Db-Query-Count and X-Db-Time (milliseconds);
+ * for streamed bodies they cover the statements issued before the response was committed.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    
+    public static final String QUERY_COUNT_HEADER = "X-Db-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Db-Time";
+    
+    private final DistributionSummary queriesPerRequest;
+    private final boolean headersEnabled;
+    
+    public QueryStatisticsFilter(MeterRegistry meterRegistry,
+                                 @Value("${app.persistence.query-headers:false}") boolean headersEnabled) {
+        this.queriesPerRequest = DistributionSummary.builder("db.request.queries")
+                .description("JDBC statements issued per HTTP request")
+                .register(meterRegistry);
+        this.headersEnabled = headersEnabled;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryMonitor.Tracker tracker = QueryMonitor.startTracking();
+        try {
+            if (headersEnabled) {
+                QueryHeaderResponse headerResponse = new QueryHeaderResponse(response, tracker);
+                filterChain.doFilter(request, headerResponse);
+                headerResponse.writeHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            QueryMonitor.stopTracking();
+            queriesPerRequest.record(tracker.queryCount());
+        }
+    }
+    
+    /**
+     * Sets the query headers just before the body is obtained, while headers can still be written
+     */
+    private static class QueryHeaderResponse extends HttpServletResponseWrapper {
+        
+        private final QueryMonitor.Tracker tracker;
+        
+        QueryHeaderResponse(HttpServletResponse response, QueryMonitor.Tracker tracker) {
+            super(response);
+            this.tracker = tracker;
+        }
+        
+        void writeHeaders() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Integer.toString(tracker.queryCount()));
+                setHeader(QUERY_TIME_HEADER, String.format(Locale.ROOT, "%.3f", tracker.elapsed().toNanos() / 1_000_000.0));
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aliunal.todoservice.infrastructure.persistence.adapter;
+
+import com.aliunal.todoservice.domain.todo.entity.TodoCounter;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoCounterRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
+public class TodoCounterRepositoryAdapter implements TodoCounterRepository {
+    
+    private final JpaTodoCounterRepository jpaTodoCounterRepository;
+    
+    public TodoCounterRepositoryAdapter(JpaTodoCounterRepository jpaTodoCounterRepository) {
+        this.jpaTodoCounterRepository = jpaTodoCounterRepository;
+    }
+    
+    @Override
+    public Optional<TodoCounts> findByUserId(Long userId) {
+        return jpaTodoCounterRepository.findById(userId).map(TodoCounter::getCounts);
+    }
+    
+    @Override
+    public Map<Long, TodoCounts> findAll() {
+        return jpaTodoCounterRepository.findAll().stream()
+                .collect(Collectors.toMap(TodoCounter::getUserId, TodoCounter::getCounts));
+    }
+    
+    @Override
+    public TodoCounts sumAll() {
+        return jpaTodoCounterRepository.sumAll();
+    }
+    
+    @Override
+    public long add(Long userId, TodoCounts delta) {
+        if (increment(userId, delta) == 0) {
+            // First write for this user; the insert is a no-op if a concurrent writer created the row
+            jpaTodoCounterRepository.insertIfAbsent(userId);
+            increment(userId, delta);
+        }
+        return findVersionByUserId(userId);
+    }
+    
+    @Override
+    public long findVersionByUserId(Long userId) {
+        return jpaTodoCounterRepository.findVersion(userId).orElse(0L);
+    }
+    
+    @Override
+    public TodoCounts lockByUserId(Long userId) {
+        // The row exists for every user with todos, so the insert is only needed before their first write
+        return jpaTodoCounterRepository.findForUpdate(userId)
+                .or(() -> {
+                    jpaTodoCounterRepository.insertIfAbsent(userId);
+                    return jpaTodoCounterRepository.findForUpdate(userId);
+                })
+                .map(TodoCounter::getCounts)
+                .orElseThrow();
+    }
+    
+    @Override
+    public void lockByTodoId(Long todoId) {
+        jpaTodoCounterRepository.findForUpdateByTodoId(todoId);
+    }
+    
+    @Override
+    public void replace(Long userId, TodoCounts counts) {
+        jpaTodoCounterRepository.overwrite(userId,
+                counts.total(), counts.completed(), counts.low(), counts.medium(), counts.high());
+    }
+    
+    private int increment(Long userId, TodoCounts delta) {
+        return jpaTodoCounterRepository.increment(userId,
+                delta.total(), delta.completed(), delta.low(), delta.medium(), delta.high());
+    }
+}
@@ -1,21 +1,37 @@
 package com.aliunal.todoservice.infrastructure.persistence.adapter;
 
 import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
 import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaArchivedTodoRepository;
 import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoRepository;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
 import com.aliunal.todoservice.shared.enums.Priority;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Component
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
 public class TodoRepositoryAdapter implements TodoRepository {
     
     private final JpaTodoRepository jpaTodoRepository;
+    private final JpaArchivedTodoRepository jpaArchivedTodoRepository;
     
-    public TodoRepositoryAdapter(JpaTodoRepository jpaTodoRepository) {
+    public TodoRepositoryAdapter(JpaTodoRepository jpaTodoRepository, JpaArchivedTodoRepository jpaArchivedTodoRepository) {
         this.jpaTodoRepository = jpaTodoRepository;
+        this.jpaArchivedTodoRepository = jpaArchivedTodoRepository;
     }
     
     @Override
@@ -23,6 +39,11 @@ public class TodoRepositoryAdapter implements TodoRepository {
         return jpaTodoRepository.save(todo);
     }
     
+    @Override
+    public List<Todo> saveAll(List<Todo> todos) {
+        return jpaTodoRepository.saveAll(todos);
+    }
+    
     @Override
     public List<Todo> findAll() {
         return jpaTodoRepository.findAll();
@@ -53,6 +74,11 @@ public class TodoRepositoryAdapter implements TodoRepository {
         return jpaTodoRepository.findByIdAndUserId(id, userId);
     }
     
+    @Override
+    public List<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId) {
+        return jpaTodoRepository.findByIdInAndUserId(ids, userId);
+    }
+    
     @Override
     public List<Todo> findByTitleContainingIgnoreCase(String title) {
         return jpaTodoRepository.findByTitleContainingIgnoreCase(title);
@@ -73,6 +99,11 @@ public class TodoRepositoryAdapter implements TodoRepository {
         jpaTodoRepository.deleteById(id);
     }
     
+    @Override
+    public void deleteAll(List<Todo> todos) {
+        jpaTodoRepository.deleteAll(todos);
+    }
+    
     @Override
     public long count() {
         return jpaTodoRepository.count();
@@ -82,4 +113,132 @@ public class TodoRepositoryAdapter implements TodoRepository {
     public long countByDone(boolean done) {
         return jpaTodoRepository.countByDone(done);
     }
-}
\ No newline at end of file
+    
+    @Override
+    public Map<Long, TodoCounts> countByUser() {
+        return sumGroupedCounts(jpaTodoRepository.countGroupedByUser());
+    }
+    
+    @Override
+    public TodoCounts countForUser(Long userId) {
+        return sumGroupedCounts(jpaTodoRepository.countGroupedForUser(userId))
+                .getOrDefault(userId, TodoCounts.ZERO);
+    }
+    
+    @Override
+    public List<TodoResponse> findAllResponses() {
+        return jpaTodoRepository.findAllResponses();
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserId(Long userId) {
+        return jpaTodoRepository.findResponsesByUserId(userId);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsePageByUserId(Long userId, TodoCursor after, int limit) {
+        if (after == null) {
+            return jpaTodoRepository.findResponsePageByUserId(userId, Limit.of(limit));
+        }
+        return jpaTodoRepository.findResponsePageByUserIdAfter(userId, after.createdAt(), after.id(), Limit.of(limit));
+    }
+    
+    @Override
+    public Optional<TodoResponse> findResponseById(Long id) {
+        return jpaTodoRepository.findResponseById(id);
+    }
+    
+    @Override
+    public Optional<TodoResponse> findResponseByIdAndUserId(Long id, Long userId) {
+        return jpaTodoRepository.findResponseByIdAndUserId(id, userId);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByIdInAndUserId(Collection<Long> ids, Long userId) {
+        return jpaTodoRepository.findResponsesByIdInAndUserId(ids, userId);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByDone(boolean done) {
+        return jpaTodoRepository.findResponsesByDone(done);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserIdAndDone(Long userId, boolean done) {
+        return jpaTodoRepository.findResponsesByUserIdAndDone(userId, done);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByIdIn(Collection<Long> ids) {
+        return jpaTodoRepository.findResponsesByIdIn(ids);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByPriority(Priority priority) {
+        return jpaTodoRepository.findResponsesByPriority(priority);
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserIdChangedAfter(Long userId, long changeSeq) {
+        return jpaTodoRepository.findResponsesByUserIdChangedAfter(userId, changeSeq);
+    }
+    
+    @Override
+    public Stream<TodoResponse> streamResponses() {
+        return jpaTodoRepository.streamResponses();
+    }
+    
+    @Override
+    public Stream<TodoResponse> streamResponsesByUserId(Long userId) {
+        return jpaTodoRepository.streamResponsesByUserId(userId);
+    }
+    
+    @Override
+    public Stream<TodoSearchDocument> streamSearchDocuments() {
+        return jpaTodoRepository.streamSearchDocuments();
+    }
+    
+    @Override
+    public long findMaxId() {
+        return Math.max(jpaTodoRepository.findMaxId(), jpaArchivedTodoRepository.findMaxId());
+    }
+    
+    @Override
+    public Stream<TodoExportRow> streamExportRows(long fromId, long toId) {
+        return jpaTodoRepository.streamExportRows(fromId, toId);
+    }
+    
+    @Override
+    public Stream<TodoExportRow> streamArchivedExportRows(long fromId, long toId) {
+        return jpaArchivedTodoRepository.streamExportRows(fromId, toId);
+    }
+    
+    @Override
+    public List<TodoExportRow> findArchivable(Instant updatedBefore, int limit) {
+        return jpaTodoRepository.findArchivable(updatedBefore, Limit.of(limit));
+    }
+    
+    @Override
+    public void archiveAll(List<Todo> todos, Instant archivedAt) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        // Insert-select plus one batched delete, instead of an insert and a delete per todo
+        jpaArchivedTodoRepository.copyFromTodos(todos.stream().map(Todo::getId).toList(), archivedAt);
+        jpaTodoRepository.deleteAllInBatch(todos);
+    }
+    
+    @Override
+    public List<TodoResponse> findArchivedResponsesByUserId(Long userId) {
+        return jpaArchivedTodoRepository.findResponsesByUserId(userId);
+    }
+    
+    private static Map<Long, TodoCounts> sumGroupedCounts(List<Object[]> rows) {
+        Map<Long, TodoCounts> countsByUser = new HashMap<>();
+        for (Object[] row : rows) {
+            TodoCounts counts = TodoCounts.of((Boolean) row[1], (Priority) row[2]).times((Long) row[3]);
+            countsByUser.merge((Long) row[0], counts, TodoCounts::plus);
+        }
+        return countsByUser;
+    }
+}
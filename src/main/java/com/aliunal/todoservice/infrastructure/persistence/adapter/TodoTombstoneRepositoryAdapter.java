@@ -0,0 +1,40 @@
+package com.aliunal.todoservice.infrastructure.persistence.adapter;
+
+import com.aliunal.todoservice.domain.todo.entity.TodoTombstone;
+import com.aliunal.todoservice.domain.todo.repository.TodoTombstoneRepository;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
+public class TodoTombstoneRepositoryAdapter implements TodoTombstoneRepository {
+    
+    private final JpaTodoTombstoneRepository jpaTodoTombstoneRepository;
+    
+    public TodoTombstoneRepositoryAdapter(JpaTodoTombstoneRepository jpaTodoTombstoneRepository) {
+        this.jpaTodoTombstoneRepository = jpaTodoTombstoneRepository;
+    }
+    
+    @Override
+    public void saveAll(Long userId, Collection<Long> todoIds, long changeSeq) {
+        Instant deletedAt = Instant.now();
+        jpaTodoTombstoneRepository.saveAll(todoIds.stream()
+                .map(todoId -> new TodoTombstone(todoId, userId, changeSeq, deletedAt))
+                .toList());
+    }
+    
+    @Override
+    public List<Long> findTodoIdsByUserIdChangedAfter(Long userId, long changeSeq) {
+        return jpaTodoTombstoneRepository.findTodoIdsByUserIdChangedAfter(userId, changeSeq);
+    }
+    
+    @Override
+    public int deleteDeletedBefore(Instant cutoff) {
+        return jpaTodoTombstoneRepository.deleteByDeletedAtBefore(cutoff);
+    }
+}
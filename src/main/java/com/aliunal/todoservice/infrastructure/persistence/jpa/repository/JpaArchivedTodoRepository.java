@@ -0,0 +1,57 @@
+package com.aliunal.todoservice.infrastructure.persistence.jpa.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.ArchivedTodo;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface JpaArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+    
+    /**
+     * Copy todos into the archive in one statement, server-side
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into todos_archive (id, title, description, done, priority, user_id, created_at, updated_at,
+                                       change_seq, archived_at)
+            select id, title, description, done, priority, user_id, created_at, updated_at, change_seq, :archivedAt
+            from todos where id in (:ids)
+            """)
+    int copyFromTodos(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+    
+    @ReadOnlyQuery
+    @Query("select coalesce(max(t.id), 0) from ArchivedTodo t")
+    long findMaxId();
+    
+    /**
+     * Stream the archived todos with fromId <= id < toId for export in primary key order, fetching rows in chunks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaTodoRepository.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.aliunal.todoservice.domain.todo.repository.TodoExportRow("
+            + "t.id, t.userId, t.title, t.description, t.done, t.priority, t.createdAt, t.updatedAt, true) "
+            + "from ArchivedTodo t where t.id >= :fromId and t.id < :toId order by t.id")
+    Stream<TodoExportRow> streamExportRows(@Param("fromId") long fromId, @Param("toId") long toId);
+    
+    @ReadOnlyQuery
+    @Query("select new com.aliunal.todoservice.shared.dto.TodoResponse("
+            + "t.id, t.title, t.description, t.done, t.priority, t.createdAt, t.updatedAt) from ArchivedTodo t "
+            + "where t.userId = :userId order by t.createdAt, t.id")
+    List<TodoResponse> findResponsesByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,57 @@
+package com.aliunal.todoservice.infrastructure.persistence.jpa.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.TodoCounter;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JpaTodoCounterRepository extends JpaRepository<TodoCounter, Long> {
+    
+    // Single UPDATE so concurrent writers add to the row instead of overwriting each other
+    @Modifying
+    @Query("update TodoCounter c set c.total = c.total + :total, c.completed = c.completed + :completed, "
+            + "c.low = c.low + :low, c.medium = c.medium + :medium, c.high = c.high + :high, "
+            + "c.version = c.version + 1 "
+            + "where c.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("total") long total, @Param("completed") long completed,
+                  @Param("low") long low, @Param("medium") long medium, @Param("high") long high);
+    
+    @Modifying
+    @Query("update TodoCounter c set c.total = :total, c.completed = :completed, "
+            + "c.low = :low, c.medium = :medium, c.high = :high "
+            + "where c.userId = :userId")
+    int overwrite(@Param("userId") Long userId, @Param("total") long total, @Param("completed") long completed,
+                  @Param("low") long low, @Param("medium") long medium, @Param("high") long high);
+    
+    @Modifying
+    @Query(value = "insert into todo_counters (user_id, total, completed, low_priority, medium_priority, high_priority) "
+            + "values (:userId, 0, 0, 0, 0, 0) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+    
+    @ReadOnlyQuery
+    @Query("select c.version from TodoCounter c where c.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TodoCounter c where c.userId = :userId")
+    Optional<TodoCounter> findForUpdate(@Param("userId") Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TodoCounter c where c.userId = (select t.userId from Todo t where t.id = :todoId)")
+    Optional<TodoCounter> findForUpdateByTodoId(@Param("todoId") Long todoId);
+    
+    @ReadOnlyQuery
+    @Query("select new com.aliunal.todoservice.domain.todo.repository.TodoCounts("
+            + "coalesce(sum(c.total), 0), coalesce(sum(c.completed), 0), "
+            + "coalesce(sum(c.low), 0), coalesce(sum(c.medium), 0), coalesce(sum(c.high), 0)) "
+            + "from TodoCounter c")
+    TodoCounts sumAll();
+}
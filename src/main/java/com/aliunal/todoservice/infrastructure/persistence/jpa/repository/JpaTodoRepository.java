@@ -1,21 +1,184 @@
 package com.aliunal.todoservice.infrastructure.persistence.jpa.repository;
 
 import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
 import com.aliunal.todoservice.shared.enums.Priority;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaTodoRepository extends JpaRepository<Todo, Long> {
     
+    /**
+     * JDBC fetch size for streaming queries, so rows are pulled from the driver in chunks
+     */
+    String STREAM_FETCH_SIZE = "500";
+    
+    /**
+     * Constructor expression selecting a todo row directly into its response DTO
+     */
+    String SELECT_RESPONSE = "select new com.aliunal.todoservice.shared.dto.TodoResponse("
+            + "t.id, t.title, t.description, t.done, t.priority, t.createdAt, t.updatedAt) from Todo t ";
+    
     List<Todo> findByUserId(Long userId);
     List<Todo> findByDone(boolean done);
     List<Todo> findByUserIdAndDone(Long userId, boolean done);
     Optional<Todo> findByIdAndUserId(Long id, Long userId);
+    List<Todo> findByIdInAndUserId(Collection<Long> ids, Long userId);
     List<Todo> findByTitleContainingIgnoreCase(String title);
     List<Todo> findByPriority(Priority priority);
     long countByDone(boolean done);
-}
\ No newline at end of file
+    
+    /**
+     * Todo counts grouped by (userId, done, priority); rows are [userId, done, priority, count]
+     */
+    @ReadOnlyQuery
+    @Query("select t.userId, t.done, t.priority, count(t) from Todo t where t.userId is not null "
+            + "group by t.userId, t.done, t.priority")
+    List<Object[]> countGroupedByUser();
+    
+    /**
+     * A user's todo counts grouped by (done, priority); rows are [userId, done, priority, count]
+     */
+    @ReadOnlyQuery
+    @Query("select t.userId, t.done, t.priority, count(t) from Todo t where t.userId = :userId "
+            + "group by t.userId, t.done, t.priority")
+    List<Object[]> countGroupedForUser(@Param("userId") Long userId);
+    
+    /**
+     * First keyset page of a user's todos ordered by (createdAt, id) as entities; pages are served through
+     * findResponsePageByUserId, this is the entity baseline the read-path benchmark compares against
+     */
+    List<Todo> findByUserIdOrderByCreatedAtAscIdAsc(Long userId, Limit limit);
+    
+    /**
+     * Stream all todos as responses in primary key order, fetching rows in chunks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(SELECT_RESPONSE + "order by t.id")
+    Stream<TodoResponse> streamResponses();
+    
+    /**
+     * Stream a user's todos as responses ordered by (createdAt, id), fetching rows in chunks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(SELECT_RESPONSE + "where t.userId = :userId order by t.createdAt, t.id")
+    Stream<TodoResponse> streamResponsesByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Stream all todos as search index documents, fetching rows in chunks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument("
+            + "t.id, t.userId, t.title, t.description, t.done) from Todo t")
+    Stream<TodoSearchDocument> streamSearchDocuments();
+    
+    /**
+     * Completed todos last updated before the cutoff, oldest ids first
+     */
+    @ReadOnlyQuery
+    @Query("select new com.aliunal.todoservice.domain.todo.repository.TodoExportRow("
+            + "t.id, t.userId, t.title, t.description, t.done, t.priority, t.createdAt, t.updatedAt, false) from Todo t "
+            + "where t.done = true and t.updatedAt < :updatedBefore and t.userId is not null order by t.id")
+    List<TodoExportRow> findArchivable(@Param("updatedBefore") Instant updatedBefore, Limit limit);
+    
+    @ReadOnlyQuery
+    @Query("select coalesce(max(t.id), 0) from Todo t")
+    long findMaxId();
+    
+    /**
+     * Stream the todos with fromId <= id < toId for export in primary key order, fetching rows in chunks
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.aliunal.todoservice.domain.todo.repository.TodoExportRow("
+            + "t.id, t.userId, t.title, t.description, t.done, t.priority, t.createdAt, t.updatedAt, false) from Todo t "
+            + "where t.id >= :fromId and t.id < :toId order by t.id")
+    Stream<TodoExportRow> streamExportRows(@Param("fromId") long fromId, @Param("toId") long toId);
+    
+    // DTO projections: rows are selected straight into TodoResponse, no entities are hydrated
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE)
+    List<TodoResponse> findAllResponses();
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.userId = :userId")
+    List<TodoResponse> findResponsesByUserId(@Param("userId") Long userId);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.userId = :userId order by t.createdAt, t.id")
+    List<TodoResponse> findResponsePageByUserId(@Param("userId") Long userId, Limit limit);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + """
+            where t.userId = :userId
+              and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id))
+            order by t.createdAt, t.id
+            """)
+    List<TodoResponse> findResponsePageByUserIdAfter(@Param("userId") Long userId,
+                                                     @Param("createdAt") Instant createdAt,
+                                                     @Param("id") Long id,
+                                                     Limit limit);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.id = :id")
+    Optional<TodoResponse> findResponseById(@Param("id") Long id);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.id = :id and t.userId = :userId")
+    Optional<TodoResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.id in :ids and t.userId = :userId")
+    List<TodoResponse> findResponsesByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.done = :done")
+    List<TodoResponse> findResponsesByDone(@Param("done") boolean done);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.userId = :userId and t.done = :done")
+    List<TodoResponse> findResponsesByUserIdAndDone(@Param("userId") Long userId, @Param("done") boolean done);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.id in :ids")
+    List<TodoResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.priority = :priority")
+    List<TodoResponse> findResponsesByPriority(@Param("priority") Priority priority);
+    
+    @ReadOnlyQuery
+    @Query(SELECT_RESPONSE + "where t.userId = :userId and t.changeSeq > :changeSeq order by t.changeSeq")
+    List<TodoResponse> findResponsesByUserIdChangedAfter(@Param("userId") Long userId, @Param("changeSeq") long changeSeq);
+}
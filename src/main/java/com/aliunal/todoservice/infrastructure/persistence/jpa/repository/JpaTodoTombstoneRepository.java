@@ -0,0 +1,23 @@
+package com.aliunal.todoservice.infrastructure.persistence.jpa.repository;
+
+import com.aliunal.todoservice.domain.todo.entity.TodoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface JpaTodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+    
+    @ReadOnlyQuery
+    @Query("select t.todoId from TodoTombstone t where t.userId = :userId and t.changeSeq > :changeSeq order by t.changeSeq")
+    List<Long> findTodoIdsByUserIdChangedAfter(@Param("userId") Long userId, @Param("changeSeq") long changeSeq);
+    
+    @Modifying
+    @Query("delete from TodoTombstone t where t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") Instant cutoff);
+}
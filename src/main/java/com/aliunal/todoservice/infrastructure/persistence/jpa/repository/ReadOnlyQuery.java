@@ -0,0 +1,24 @@
+package com.aliunal.todoservice.infrastructure.persistence.jpa.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-Only Query
+ * Marks a repository query as read-only: Hibernate keeps no dirty-checking snapshots
+ * and does not auto-flush the persistence context before executing it
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+})
+public @interface ReadOnlyQuery {
+}
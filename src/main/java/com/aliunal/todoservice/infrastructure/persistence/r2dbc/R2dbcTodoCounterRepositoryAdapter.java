@@ -0,0 +1,117 @@
+package com.aliunal.todoservice.infrastructure.persistence.r2dbc;
+
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC Todo Counter Repository Adapter - Infrastructure Layer
+ * Per-user todo counters for the reactive stack, updated with the same single-statement increments as the JPA adapter
+ */
+@Component
+@Profile("reactive")
+public class R2dbcTodoCounterRepositoryAdapter implements ReactiveTodoCounterRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcTodoCounterRepositoryAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    @Override
+    public Mono<TodoCounts> findByUserId(Long userId) {
+        return databaseClient.sql("select total, completed, low_priority, medium_priority, high_priority "
+                        + "from todo_counters where user_id = :userId")
+                .bind("userId", userId)
+                .map(R2dbcTodoCounterRepositoryAdapter::toCounts)
+                .one();
+    }
+    
+    @Override
+    public Mono<TodoCounts> sumAll() {
+        return databaseClient.sql("select coalesce(sum(total), 0) as total, coalesce(sum(completed), 0) as completed, "
+                        + "coalesce(sum(low_priority), 0) as low_priority, coalesce(sum(medium_priority), 0) as medium_priority, "
+                        + "coalesce(sum(high_priority), 0) as high_priority from todo_counters")
+                .map(R2dbcTodoCounterRepositoryAdapter::toCounts)
+                .one();
+    }
+    
+    @Override
+    public Mono<Long> add(Long userId, TodoCounts delta) {
+        return increment(userId, delta)
+                .flatMap(updated -> updated > 0
+                        ? Mono.<Long>empty()
+                        // First write for this user; the insert is a no-op if a concurrent writer created the row
+                        : databaseClient.sql("insert into todo_counters "
+                                        + "(user_id, total, completed, low_priority, medium_priority, high_priority) "
+                                        + "values (:userId, 0, 0, 0, 0, 0) on conflict do nothing")
+                                .bind("userId", userId)
+                                .then()
+                                .then(increment(userId, delta)))
+                .then(findVersionByUserId(userId));
+    }
+    
+    @Override
+    public Mono<Long> findVersionByUserId(Long userId) {
+        return databaseClient.sql("select version from todo_counters where user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("version", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+    
+    @Override
+    public Mono<TodoCounts> lockByUserId(Long userId) {
+        // The row exists for every user with todos, so the insert is only needed before their first write
+        return findForUpdate(userId)
+                .switchIfEmpty(Mono.defer(() -> databaseClient.sql("insert into todo_counters "
+                                + "(user_id, total, completed, low_priority, medium_priority, high_priority) "
+                                + "values (:userId, 0, 0, 0, 0, 0) on conflict do nothing")
+                        .bind("userId", userId)
+                        .then()
+                        .then(findForUpdate(userId))));
+    }
+    
+    @Override
+    public Mono<Void> lockByTodoId(Long todoId) {
+        return databaseClient.sql("select user_id from todo_counters "
+                        + "where user_id = (select user_id from todos where id = :todoId) for update")
+                .bind("todoId", todoId)
+                .then();
+    }
+    
+    private Mono<TodoCounts> findForUpdate(Long userId) {
+        return databaseClient.sql("select total, completed, low_priority, medium_priority, high_priority "
+                        + "from todo_counters where user_id = :userId for update")
+                .bind("userId", userId)
+                .map(R2dbcTodoCounterRepositoryAdapter::toCounts)
+                .one();
+    }
+    
+    private Mono<Long> increment(Long userId, TodoCounts delta) {
+        return databaseClient.sql("update todo_counters set total = total + :total, completed = completed + :completed, "
+                        + "low_priority = low_priority + :low, medium_priority = medium_priority + :medium, "
+                        + "high_priority = high_priority + :high, version = version + 1 where user_id = :userId")
+                .bind("userId", userId)
+                .bind("total", delta.total())
+                .bind("completed", delta.completed())
+                .bind("low", delta.low())
+                .bind("medium", delta.medium())
+                .bind("high", delta.high())
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    private static TodoCounts toCounts(Readable row) {
+        return new TodoCounts(
+                row.get("total", Long.class),
+                row.get("completed", Long.class),
+                row.get("low_priority", Long.class),
+                row.get("medium_priority", Long.class),
+                row.get("high_priority", Long.class));
+    }
+}
@@ -0,0 +1,282 @@
+package com.aliunal.todoservice.infrastructure.persistence.r2dbc;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * R2DBC Todo Repository Adapter - Infrastructure Layer
+ * Non-blocking todo persistence for the reactive stack, written against the same schema as the JPA mapping
+ */
+@Component
+@Profile("reactive")
+public class R2dbcTodoRepositoryAdapter implements ReactiveTodoRepository {
+    
+    private static final String COLUMNS = "id, title, description, done, priority, user_id, created_at, updated_at, change_seq";
+    private static final String SELECT = "select " + COLUMNS + " from todos ";
+    private static final String ORDER = " order by created_at, id";
+    
+    private final DatabaseClient databaseClient;
+    private final IdAllocator ids;
+    
+    public R2dbcTodoRepositoryAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.ids = new IdAllocator(databaseClient);
+    }
+    
+    @Override
+    public Mono<Todo> insert(Todo todo) {
+        // H2's R2DBC driver binds strings as CLOBs, which do not convert to the priority enum without a cast
+        return ids.next().flatMap(id -> {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into todos (" + COLUMNS + ") "
+                            + "values (:id, :title, :description, :done, cast(:priority as varchar(10)), :userId, :createdAt, :updatedAt, "
+                            + ":changeSeq)")
+                    .bind("id", id)
+                    .bind("title", todo.getTitle())
+                    .bind("done", todo.isDone())
+                    .bind("priority", todo.getPriority().name())
+                    .bind("createdAt", timestamp(todo.getCreatedAt()))
+                    .bind("updatedAt", timestamp(todo.getUpdatedAt()))
+                    .bind("changeSeq", todo.getChangeSeq());
+            spec = bindNullable(spec, "description", todo.getDescription(), String.class);
+            spec = bindNullable(spec, "userId", todo.getUserId(), Long.class);
+            return spec.then().thenReturn(withId(id, todo));
+        });
+    }
+    
+    @Override
+    public Mono<Todo> update(Todo todo) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("update todos set title = :title, "
+                        + "description = :description, done = :done, priority = cast(:priority as varchar(10)), "
+                        + "updated_at = :updatedAt, change_seq = :changeSeq where id = :id")
+                .bind("id", todo.getId())
+                .bind("title", todo.getTitle())
+                .bind("done", todo.isDone())
+                .bind("priority", todo.getPriority().name())
+                .bind("updatedAt", timestamp(todo.getUpdatedAt()))
+                .bind("changeSeq", todo.getChangeSeq());
+        return bindNullable(spec, "description", todo.getDescription(), String.class)
+                .then()
+                .thenReturn(todo);
+    }
+    
+    @Override
+    public Mono<Todo> findById(Long id) {
+        return databaseClient.sql(SELECT + "where id = :id")
+                .bind("id", id)
+                .map(R2dbcTodoRepositoryAdapter::toTodo)
+                .one();
+    }
+    
+    @Override
+    public Flux<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT + "where id in (:ids) and user_id = :userId")
+                .bind("ids", ids)
+                .bind("userId", userId)
+                .map(R2dbcTodoRepositoryAdapter::toTodo)
+                .all();
+    }
+    
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("delete from todos where id = :id")
+                .bind("id", id)
+                .then();
+    }
+    
+    @Override
+    public Mono<Void> deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("delete from todos where id in (:ids)")
+                .bind("ids", ids)
+                .then();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findAllResponses() {
+        return databaseClient.sql(SELECT + ORDER)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByUserId(Long userId) {
+        return databaseClient.sql(SELECT + "where user_id = :userId" + ORDER)
+                .bind("userId", userId)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsePageByUserId(Long userId, TodoCursor after, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = after == null
+                ? databaseClient.sql(SELECT + "where user_id = :userId" + ORDER + " limit :limit")
+                : databaseClient.sql(SELECT + "where user_id = :userId "
+                                + "and (created_at > :createdAt or (created_at = :createdAt and id > :id))" + ORDER + " limit :limit")
+                        .bind("createdAt", timestamp(after.createdAt()))
+                        .bind("id", after.id());
+        return spec.bind("userId", userId)
+                .bind("limit", limit)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Mono<TodoResponse> findResponseByIdAndUserId(Long id, Long userId) {
+        return databaseClient.sql(SELECT + "where id = :id and user_id = :userId")
+                .bind("id", id)
+                .bind("userId", userId)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .one();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT + "where id in (:ids)")
+                .bind("ids", ids)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByIdInAndUserId(Collection<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT + "where id in (:ids) and user_id = :userId")
+                .bind("ids", ids)
+                .bind("userId", userId)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByDone(boolean done) {
+        return databaseClient.sql(SELECT + "where done = :done" + ORDER)
+                .bind("done", done)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByUserIdAndDone(Long userId, boolean done) {
+        return databaseClient.sql(SELECT + "where user_id = :userId and done = :done" + ORDER)
+                .bind("userId", userId)
+                .bind("done", done)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    @Override
+    public Flux<TodoResponse> findResponsesByUserIdChangedAfter(Long userId, long changeSeq) {
+        return databaseClient.sql(SELECT + "where user_id = :userId and change_seq > :changeSeq order by change_seq")
+                .bind("userId", userId)
+                .bind("changeSeq", changeSeq)
+                .map(R2dbcTodoRepositoryAdapter::toResponse)
+                .all();
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                   Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+    
+    private static Todo withId(Long id, Todo todo) {
+        return Todo.restore(id, todo.getTitle(), todo.getDescription(), todo.isDone(), todo.getPriority(),
+                todo.getUserId(), todo.getCreatedAt(), todo.getUpdatedAt(), todo.getChangeSeq());
+    }
+    
+    private static Todo toTodo(Readable row) {
+        return Todo.restore(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("done", Boolean.class)),
+                Priority.valueOf(row.get("priority", String.class)),
+                row.get("user_id", Long.class),
+                instant(row, "created_at"),
+                instant(row, "updated_at"),
+                row.get("change_seq", Long.class));
+    }
+    
+    private static TodoResponse toResponse(Readable row) {
+        return new TodoResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("done", Boolean.class)),
+                Priority.valueOf(row.get("priority", String.class)),
+                instant(row, "created_at"),
+                instant(row, "updated_at"));
+    }
+    
+    private static Instant instant(Readable row, String column) {
+        OffsetDateTime value = row.get(column, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+    }
+    
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+    
+    /**
+     * Hands out ids from pooled-lo blocks of todos_seq, like Hibernate on the servlet stack: one nextval per
+     * {@link Todo#ID_ALLOCATION_SIZE} inserts, and both stacks draw disjoint blocks from the same sequence
+     */
+    private static final class IdAllocator {
+        
+        private final DatabaseClient databaseClient;
+        private long next;
+        private long limit;
+        
+        private IdAllocator(DatabaseClient databaseClient) {
+            this.databaseClient = databaseClient;
+        }
+        
+        private Mono<Long> next() {
+            return Mono.defer(() -> {
+                Long id = takeFromBlock();
+                if (id != null) {
+                    return Mono.just(id);
+                }
+                // Concurrent callers may each fetch a block; the one installed last wins and the rest of the other
+                // is skipped, which wastes ids but never repeats one
+                return databaseClient.sql("select nextval('todos_seq')")
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .map(this::startBlock);
+            });
+        }
+        
+        private synchronized Long takeFromBlock() {
+            return next < limit ? next++ : null;
+        }
+        
+        private synchronized long startBlock(long blockStart) {
+            next = blockStart + 1;
+            limit = blockStart + Todo.ID_ALLOCATION_SIZE;
+            return blockStart;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.aliunal.todoservice.infrastructure.persistence.r2dbc;
+
+import com.aliunal.todoservice.domain.todo.repository.ReactiveTodoTombstoneRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * R2DBC Todo Tombstone Repository Adapter - Infrastructure Layer
+ * Delete markers for delta sync on the reactive stack; the retention purge runs on the JDBC side
+ */
+@Component
+@Profile("reactive")
+public class R2dbcTodoTombstoneRepositoryAdapter implements ReactiveTodoTombstoneRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcTodoTombstoneRepositoryAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    @Override
+    public Mono<Void> saveAll(Long userId, Collection<Long> todoIds, long changeSeq) {
+        OffsetDateTime deletedAt = Instant.now().atOffset(ZoneOffset.UTC);
+        return Flux.fromIterable(todoIds)
+                .concatMap(todoId -> databaseClient.sql("insert into todo_tombstones (todo_id, user_id, change_seq, deleted_at) "
+                                + "values (:todoId, :userId, :changeSeq, :deletedAt)")
+                        .bind("todoId", todoId)
+                        .bind("userId", userId)
+                        .bind("changeSeq", changeSeq)
+                        .bind("deletedAt", deletedAt)
+                        .then())
+                .then();
+    }
+    
+    @Override
+    public Flux<Long> findTodoIdsByUserIdChangedAfter(Long userId, long changeSeq) {
+        return databaseClient.sql("select todo_id from todo_tombstones "
+                        + "where user_id = :userId and change_seq > :changeSeq order by change_seq")
+                .bind("userId", userId)
+                .bind("changeSeq", changeSeq)
+                .map(row -> row.get("todo_id", Long.class))
+                .all();
+    }
+}
@@ -0,0 +1,51 @@
+package com.aliunal.todoservice.infrastructure.persistence.replica;
+
+import com.aliunal.todoservice.infrastructure.security.JwtPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-Your-Writes Tracker - Infrastructure Layer
+ * Remembers users whose read-write transaction committed within the last window, so their reads
+ * stay on the primary until the replicas have caught up with their own changes
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+    
+    private final Cache<Long, Boolean> recentWriters;
+    
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+    
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            currentUserId().ifPresent(userId -> recentWriters.put(userId, Boolean.TRUE));
+        }
+    }
+    
+    /**
+     * Whether the current user wrote recently and must read from the primary
+     */
+    public boolean requiresPrimary() {
+        return currentUserId().map(userId -> recentWriters.getIfPresent(userId) != null).orElse(false);
+    }
+    
+    private static Optional<Long> currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal.userId());
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,174 @@
+package com.aliunal.todoservice.infrastructure.persistence.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replica Routing DataSource - Infrastructure Layer
+ * Read-only DataSource behind LazyConnectionDataSourceProxy: hands out connections from a pool of replicas,
+ * picked round-robin or by fewest active connections. Falls back to the primary while the current user has
+ * recently written (read-your-writes), or when no replica is reachable and within the allowed replication lag.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    public enum Selection { ROUND_ROBIN, LEAST_BUSY }
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final ReadYourWritesTracker readYourWrites;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Selection selection,
+                                    ReadYourWritesTracker readYourWrites, String lagQuery, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.replicaReads = routedReads(meterRegistry, "replica", "selected");
+        this.stickyReads = routedReads(meterRegistry, "primary", "read-your-writes");
+        this.fallbackReads = routedReads(meterRegistry, "primary", "no-replica");
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.requiresPrimary()) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        for (Replica replica : candidates()) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+    
+    /**
+     * Re-checks every replica, including ones marked unavailable: reachable and, with a lag query,
+     * no further behind the primary than the allowed lag
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Duration lag = measureLag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    replica.markUnavailable("replication lag " + lag.toMillis() + " ms");
+                } else {
+                    replica.markAvailable();
+                }
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+    
+    private Duration measureLag(Connection connection) throws SQLException {
+        if (!StringUtils.hasText(lagQuery)) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            return Duration.ofMillis(Math.round(seconds * 1000));
+        }
+    }
+    
+    private List<Replica> candidates() {
+        List<Replica> available = replicas.stream().filter(replica -> replica.available).toList();
+        if (available.size() < 2) {
+            return available;
+        }
+        if (selection == Selection.LEAST_BUSY) {
+            return available.stream().sorted(Comparator.comparingInt(Replica::activeConnections)).toList();
+        }
+        // Round robin, continuing with the following replicas if the chosen one fails
+        int start = Math.floorMod(next.getAndIncrement(), available.size());
+        List<Replica> ordered = new ArrayList<>(available.subList(start, available.size()));
+        ordered.addAll(available.subList(0, start));
+        return ordered;
+    }
+    
+    private static Counter routedReads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.read.routing")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    private static final class Replica {
+        
+        private final HikariDataSource dataSource;
+        private volatile boolean available = true;
+        
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+        
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        
+        private void markAvailable() {
+            if (!available) {
+                log.info("Replica {} is back in rotation", dataSource.getPoolName());
+            }
+            available = true;
+        }
+        
+        private void markUnavailable(String reason) {
+            if (available) {
+                log.warn("Replica {} taken out of rotation: {}", dataSource.getPoolName(), reason);
+            }
+            available = false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent Hash Ring - Infrastructure Layer
+ * Places every node at a number of pseudo-random points (virtual nodes) derived from its name; a key belongs to
+ * the first node point at or after the key's hash. Adding a node only takes over the keys falling just before its
+ * points (about 1/N of all keys), every other key keeps its node.
+ */
+public final class ConsistentHashRing<T> {
+    
+    private final NavigableMap<Long, T> points = new TreeMap<>();
+    private final List<T> nodes;
+    
+    public ConsistentHashRing(Map<String, T> nodesByName, int virtualNodes) {
+        if (nodesByName.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        nodesByName.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(mix(((long) name.hashCode() << 32) | i), node);
+            }
+        });
+        this.nodes = List.copyOf(nodesByName.values());
+    }
+    
+    public T locate(long key) {
+        Map.Entry<Long, T> point = points.ceilingEntry(mix(key));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+    
+    public List<T> nodes() {
+        return nodes;
+    }
+    
+    /**
+     * SplitMix64 finalizer: spreads sequential keys (user ids) evenly over the ring
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
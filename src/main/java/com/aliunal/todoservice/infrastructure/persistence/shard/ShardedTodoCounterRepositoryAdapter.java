@@ -0,0 +1,71 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCounterRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import io.micrometer.core.annotation.Timed;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sharded Todo Counter Repository Adapter - Infrastructure Layer
+ * Keeps each user's counters and change version on the shard that holds their todos, so both are written in the
+ * same shard transaction and move together when the user is rebalanced
+ */
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
+public class ShardedTodoCounterRepositoryAdapter implements TodoCounterRepository {
+    
+    private final ShardedTodoRepositoryAdapter shards;
+    
+    public ShardedTodoCounterRepositoryAdapter(ShardedTodoRepositoryAdapter shards) {
+        this.shards = shards;
+    }
+    
+    @Override
+    public Optional<TodoCounts> findByUserId(Long userId) {
+        return Optional.ofNullable(shards.onShardOf(userId, shard -> shard.counters("where user_id = :userId",
+                Map.of("userId", userId)).get(userId)));
+    }
+    
+    @Override
+    public Map<Long, TodoCounts> findAll() {
+        Map<Long, TodoCounts> countersByUser = new HashMap<>();
+        // A user caught mid-move shows up on both shards with the same counters
+        shards.scatter(shard -> shard.counters("", Map.of())).forEach(countersByUser::putAll);
+        return countersByUser;
+    }
+    
+    @Override
+    public TodoCounts sumAll() {
+        return findAll().values().stream().reduce(TodoCounts.ZERO, TodoCounts::plus);
+    }
+    
+    @Override
+    public long add(Long userId, TodoCounts delta) {
+        return shards.onShardOf(userId, shard -> shard.inTransaction(() -> shard.addToCounters(userId, delta)));
+    }
+    
+    @Override
+    public long findVersionByUserId(Long userId) {
+        return shards.onShardOf(userId, shard -> shard.version(userId));
+    }
+    
+    @Override
+    public TodoCounts lockByUserId(Long userId) {
+        return shards.onShardOf(userId, shard -> shard.inTransaction(() -> shard.lockCounters(userId)));
+    }
+    
+    @Override
+    public void lockByTodoId(Long todoId) {
+        shards.findUserIdById(todoId).ifPresent(this::lockByUserId);
+    }
+    
+    @Override
+    public void replace(Long userId, TodoCounts counts) {
+        shards.onShardOf(userId, shard -> {
+            shard.replaceCounters(userId, counts);
+            return null;
+        });
+    }
+}
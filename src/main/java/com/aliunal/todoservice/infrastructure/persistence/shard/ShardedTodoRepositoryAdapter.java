@@ -0,0 +1,683 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sharded Todo Repository Adapter - Infrastructure Layer
+ * Spreads todos over several databases by a consistent hash of the owning user id. User-scoped queries go to
+ * the one owning shard; global queries (findAll, counts, by status or priority, by id) run on every shard in
+ * parallel and are merged. Ids come from the primary database's todos_seq, so they stay unique across shards.
+ *
+ * Rebalancing is online: when the ring changes (a shard is added), users whose todos sit on a shard that no
+ * longer owns them keep being served from there until a background task has moved them, one user at a time
+ * under that user's lock. A user's counters, change version and tombstones live next to their todos (see the
+ * sharded counter and tombstone adapters). Inside a Spring transaction, user operations join one transaction per
+ * shard that commits right before the surrounding one, and the users touched stay locked until it completes, so
+ * a write and its bookkeeping commit together and never interleave with a move.
+ */
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
+public class ShardedTodoRepositoryAdapter implements TodoRepository, Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShardedTodoRepositoryAdapter.class);
+    
+    // Routing key for legacy todos without an owner
+    private static final long NO_USER = 0L;
+    private static final int LOCK_STRIPES = 64;
+    private static final String ORDER = " order by created_at, id";
+    
+    private final int virtualNodes;
+    private final IdAllocator ids;
+    private final VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("todo-shard-");
+    // Held shared by every operation; exclusively only while the ring is swapped
+    private final ReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    // Held shared by operations on a user; exclusively while that user's todos move
+    private final ReadWriteLock[] userLocks = IntStream.range(0, LOCK_STRIPES)
+            .mapToObj(i -> new ReentrantReadWriteLock())
+            .toArray(ReadWriteLock[]::new);
+    private volatile Topology topology;
+    private volatile CompletableFuture<Void> rebalancing = CompletableFuture.completedFuture(null);
+    
+    public ShardedTodoRepositoryAdapter(List<TodoShard> shards, DataSource idSource, int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+        this.ids = new IdAllocator(new JdbcTemplate(idSource));
+        shards.forEach(TodoShard::migrate);
+        this.topology = plan(shards);
+    }
+    
+    /**
+     * Add a shard online: it takes over its share of the ring right away, existing users move in the background
+     */
+    public CompletableFuture<Void> addShard(TodoShard shard) {
+        shard.migrate();
+        Lock lock = topologyLock.writeLock();
+        lock.lock();
+        try {
+            List<TodoShard> shards = new ArrayList<>(topology.ring().nodes());
+            shards.add(shard);
+            topology = plan(shards);
+        } finally {
+            lock.unlock();
+        }
+        return rebalance();
+    }
+    
+    /**
+     * Move every user whose todos are not on their owning shard; completes when all have moved
+     */
+    public synchronized CompletableFuture<Void> rebalance() {
+        if (rebalancing.isDone()) {
+            rebalancing = CompletableFuture.runAsync(this::moveMisplacedUsers, executor);
+        }
+        return rebalancing;
+    }
+    
+    @Override
+    public void close() {
+        topology.ring().nodes().forEach(TodoShard::close);
+    }
+    
+    @Override
+    public Todo save(Todo todo) {
+        return saveAll(List.of(todo)).get(0);
+    }
+    
+    @Override
+    public List<Todo> saveAll(List<Todo> todos) {
+        Set<Todo> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Todo> saved = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            if (todo.getId() == null) {
+                todo = withId(ids.next(), todo);
+                created.add(todo);
+            }
+            saved.add(todo);
+        }
+        saved.stream()
+                .collect(Collectors.groupingBy(todo -> key(todo.getUserId()), LinkedHashMap::new,
+                        Collectors.partitioningBy(created::contains)))
+                .forEach((key, byCreated) -> onUserShard(key, shard -> {
+                    shard.inTransaction(() -> {
+                        shard.insertAll(byCreated.get(true));
+                        shard.updateAll(byCreated.get(false));
+                    });
+                    return null;
+                }));
+        return saved;
+    }
+    
+    @Override
+    public List<Todo> findAll() {
+        return gather(shard -> shard.todos("", Map.of()));
+    }
+    
+    @Override
+    public List<Todo> findByUserId(Long userId) {
+        return onUserShard(key(userId), shard -> shard.todos(userCondition(userId), userParams(userId)));
+    }
+    
+    @Override
+    public List<Todo> findByDone(boolean done) {
+        return gather(shard -> shard.todos("where done = :done", Map.of("done", done)));
+    }
+    
+    @Override
+    public List<Todo> findByUserIdAndDone(Long userId, boolean done) {
+        return onUserShard(key(userId), shard -> shard.todos(userCondition(userId) + " and done = :done",
+                with(userParams(userId), "done", done)));
+    }
+    
+    // By-id access finds the owner first, then works under their lock on the shard they live on by then
+    @Override
+    public Optional<Todo> findById(Long id) {
+        return ownerKey(id).flatMap(key -> onUserShard(key, shard -> shard.todos(userCondition(userId(key)) + " and id = :id",
+                with(userParams(userId(key)), "id", id))).stream().findFirst());
+    }
+    
+    @Override
+    public Optional<Todo> findByIdAndUserId(Long id, Long userId) {
+        return onUserShard(key(userId), shard -> shard.todos(userCondition(userId) + " and id = :id",
+                with(userParams(userId), "id", id))).stream().findFirst();
+    }
+    
+    @Override
+    public List<Todo> findAllByIdInAndUserId(Collection<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return onUserShard(key(userId), shard -> shard.todos(userCondition(userId) + " and id in (:ids)",
+                with(userParams(userId), "ids", ids)));
+    }
+    
+    @Override
+    public List<Todo> findByTitleContainingIgnoreCase(String title) {
+        return gather(shard -> shard.todos("where lower(title) like :title",
+                Map.of("title", "%" + title.toLowerCase() + "%")));
+    }
+    
+    @Override
+    public List<Todo> findByPriority(Priority priority) {
+        return gather(shard -> shard.todos("where priority = :priority", Map.of("priority", priority.name())));
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        ownerKey(id).ifPresent(key -> onUserShard(key, shard -> shard.delete("where id = :id", Map.of("id", id))));
+    }
+    
+    @Override
+    public void deleteAll(List<Todo> todos) {
+        todos.stream()
+                .collect(Collectors.groupingBy(todo -> key(todo.getUserId()),
+                        Collectors.mapping(Todo::getId, Collectors.toList())))
+                .forEach((key, todoIds) -> onUserShard(key,
+                        shard -> shard.delete("where id in (:ids)", Map.of("ids", todoIds))));
+    }
+    
+    @Override
+    public long count() {
+        return scatter(shard -> shard.count("", Map.of())).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    @Override
+    public long countByDone(boolean done) {
+        return scatter(shard -> shard.count("where done = :done", Map.of("done", done))).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+    
+    @Override
+    public Map<Long, TodoCounts> countByUser() {
+        Map<Long, TodoCounts> countsByUser = new HashMap<>();
+        scatter(shard -> shard.countsByUser("where user_id is not null", Map.of()))
+                .forEach(counts -> counts.forEach((userId, userCounts) -> countsByUser.merge(userId, userCounts, TodoCounts::plus)));
+        return countsByUser;
+    }
+    
+    @Override
+    public TodoCounts countForUser(Long userId) {
+        return onUserShard(key(userId), shard -> shard.countsByUser(userCondition(userId), userParams(userId)))
+                .getOrDefault(userId, TodoCounts.ZERO);
+    }
+    
+    @Override
+    public List<TodoResponse> findAllResponses() {
+        return gather(shard -> shard.responses("", Map.of()));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserId(Long userId) {
+        return onUserShard(key(userId), shard -> shard.responses(userCondition(userId), userParams(userId)));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsePageByUserId(Long userId, TodoCursor after, int limit) {
+        return onUserShard(key(userId), shard -> shard.responses(pageCondition(userId, after, limit), pageParams(userId, after, limit)));
+    }
+    
+    @Override
+    public Optional<TodoResponse> findResponseById(Long id) {
+        return ownerKey(id).flatMap(key -> onUserShard(key, shard -> shard.responses(userCondition(userId(key)) + " and id = :id",
+                with(userParams(userId(key)), "id", id))).stream().findFirst());
+    }
+    
+    @Override
+    public Optional<TodoResponse> findResponseByIdAndUserId(Long id, Long userId) {
+        return onUserShard(key(userId), shard -> shard.responses(userCondition(userId) + " and id = :id",
+                with(userParams(userId), "id", id))).stream().findFirst();
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByIdInAndUserId(Collection<Long> ids, Long userId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return onUserShard(key(userId), shard -> shard.responses(userCondition(userId) + " and id in (:ids)",
+                with(userParams(userId), "ids", ids)));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByDone(boolean done) {
+        return gather(shard -> shard.responses("where done = :done", Map.of("done", done)));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserIdAndDone(Long userId, boolean done) {
+        return onUserShard(key(userId), shard -> shard.responses(userCondition(userId) + " and done = :done",
+                with(userParams(userId), "done", done)));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return gather(shard -> shard.responses("where id in (:ids)", Map.of("ids", ids)));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByPriority(Priority priority) {
+        return gather(shard -> shard.responses("where priority = :priority", Map.of("priority", priority.name())));
+    }
+    
+    @Override
+    public List<TodoResponse> findResponsesByUserIdChangedAfter(Long userId, long changeSeq) {
+        return onUserShard(key(userId), shard -> shard.responses(userCondition(userId)
+                + " and change_seq > :changeSeq order by change_seq", with(userParams(userId), "changeSeq", changeSeq)));
+    }
+    
+    @Override
+    public Stream<TodoResponse> streamResponses() {
+        return mergeSorted(onEveryShard(shard -> shard.streamResponses("order by id", Map.of())),
+                Comparator.comparing(TodoResponse::id));
+    }
+    
+    @Override
+    public Stream<TodoResponse> streamResponsesByUserId(Long userId) {
+        return onUserShard(key(userId), shard -> shard.streamResponses(userCondition(userId) + ORDER, userParams(userId)));
+    }
+    
+    @Override
+    public Stream<TodoSearchDocument> streamSearchDocuments() {
+        return mergeSorted(onEveryShard(TodoShard::streamSearchDocuments), Comparator.comparing(TodoSearchDocument::id));
+    }
+    
+    @Override
+    public long findMaxId() {
+        return scatter(TodoShard::maxId).stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+    
+    @Override
+    public Stream<TodoExportRow> streamExportRows(long fromId, long toId) {
+        Map<String, Object> params = Map.of("fromId", fromId, "toId", toId);
+        return mergeSorted(onEveryShard(shard -> shard.streamExportRows("where id >= :fromId and id < :toId order by id", params)),
+                Comparator.comparing(TodoExportRow::id));
+    }
+    
+    @Override
+    public Stream<TodoExportRow> streamArchivedExportRows(long fromId, long toId) {
+        Map<String, Object> params = Map.of("fromId", fromId, "toId", toId);
+        return mergeSorted(onEveryShard(shard -> shard.streamArchivedExportRows("where id >= :fromId and id < :toId order by id",
+                params)), Comparator.comparing(TodoExportRow::id));
+    }
+    
+    @Override
+    public List<TodoExportRow> findArchivable(Instant updatedBefore, int limit) {
+        Map<String, Object> params = Map.of("updatedBefore", OffsetDateTime.ofInstant(updatedBefore, ZoneOffset.UTC),
+                "limit", limit);
+        return gather(shard -> {
+                    try (Stream<TodoExportRow> rows = shard.streamExportRows(
+                            "where done = true and updated_at < :updatedBefore and user_id is not null order by id limit :limit", params)) {
+                        return rows.toList();
+                    }
+                })
+                .stream()
+                .sorted(Comparator.comparing(TodoExportRow::id))
+                .limit(limit)
+                .toList();
+    }
+    
+    @Override
+    public void archiveAll(List<Todo> todos, Instant archivedAt) {
+        todos.stream()
+                .collect(Collectors.groupingBy(todo -> key(todo.getUserId()),
+                        Collectors.mapping(Todo::getId, Collectors.toList())))
+                .forEach((key, todoIds) -> onUserShard(key, shard -> {
+                    shard.archive(todoIds, archivedAt);
+                    return null;
+                }));
+    }
+    
+    // Archives stay where they were written (rebalancing moves live todos only), so all shards are asked
+    @Override
+    public List<TodoResponse> findArchivedResponsesByUserId(Long userId) {
+        return gather(shard -> shard.archivedResponses(userCondition(userId), userParams(userId))).stream()
+                .sorted(Comparator.comparing(TodoResponse::createdAt).thenComparing(TodoResponse::id))
+                .toList();
+    }
+    
+    private Topology plan(List<TodoShard> shards) {
+        Map<String, TodoShard> byName = new LinkedHashMap<>();
+        shards.forEach(shard -> byName.put(shard.name(), shard));
+        ConsistentHashRing<TodoShard> ring = new ConsistentHashRing<>(byName, virtualNodes);
+        // Users found on a shard that no longer owns them stay readable there until they have moved
+        Map<Long, TodoShard> misplaced = new ConcurrentHashMap<>();
+        for (TodoShard shard : shards) {
+            for (Long userId : shard.userIds()) {
+                if (ring.locate(key(userId)) != shard) {
+                    misplaced.put(key(userId), shard);
+                }
+            }
+        }
+        return new Topology(ring, misplaced);
+    }
+    
+    private void moveMisplacedUsers() {
+        Topology current;
+        do {
+            current = topology;
+            if (!current.misplaced().isEmpty()) {
+                log.info("Rebalancing todo shards: moving {} user(s)", current.misplaced().size());
+                current.misplaced().keySet().forEach(this::moveIfMisplaced);
+                log.info("Rebalancing todo shards finished, {} user(s) left in place", current.misplaced().size());
+            }
+        } while (current != topology);  // the ring changed meanwhile: move for the new one too
+    }
+    
+    private void moveIfMisplaced(long key) {
+        Lock topologyRead = topologyLock.readLock();
+        Lock userWrite = userLock(key).writeLock();
+        topologyRead.lock();
+        userWrite.lock();
+        try {
+            TodoShard source = topology.misplaced().get(key);
+            if (source != null) {
+                move(key, source, topology.ring().locate(key));
+                topology.misplaced().remove(key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Moving the todos of user {} failed, they stay in place until the next rebalance", key, e);
+        } finally {
+            userWrite.unlock();
+            topologyRead.unlock();
+        }
+    }
+    
+    /**
+     * Copy the user's todos, counters and tombstones, then delete them at the source; the copy replaces any rows
+     * left on the target by an interrupted earlier move
+     */
+    private static void move(long key, TodoShard source, TodoShard target) {
+        TodoShard.UserRows rows = source.userRows(userId(key));
+        target.inTransaction(() -> target.replaceUserRows(rows));
+        source.inTransaction(() -> source.deleteUserRows(rows.userId()));
+    }
+    
+    /**
+     * Routing key of the todo's owner, looked up on every shard; empty when no shard holds the todo
+     */
+    private Optional<Long> ownerKey(Long id) {
+        return gather(shard -> shard.userIds("where id = :id", Map.of("id", id))).stream()
+                .map(ShardedTodoRepositoryAdapter::key)
+                .findFirst();
+    }
+    
+    /**
+     * Owner of the todo, looked up on every shard; empty when no shard holds the todo or it has no owner
+     */
+    Optional<Long> findUserIdById(Long id) {
+        return ownerKey(id).map(ShardedTodoRepositoryAdapter::userId);
+    }
+    
+    /**
+     * Run the operation on the shard holding the user's data, under the user's lock; used by the sharded counter
+     * and tombstone adapters, whose rows live with the todos
+     */
+    <T> T onShardOf(Long userId, Function<TodoShard, T> operation) {
+        return onUserShard(key(userId), operation);
+    }
+    
+    private <T> T onUserShard(long key, Function<TodoShard, T> operation) {
+        if (TodoShard.isSurroundingTransactionActive()) {
+            holdUntilCompletion(key);
+            TodoShard shard = locate(key);
+            return shard.inTransaction(() -> operation.apply(shard));
+        }
+        Lock topologyRead = topologyLock.readLock();
+        Lock userRead = userLock(key).readLock();
+        topologyRead.lock();
+        userRead.lock();
+        try {
+            return operation.apply(locate(key));
+        } finally {
+            userRead.unlock();
+            topologyRead.unlock();
+        }
+    }
+    
+    private TodoShard locate(long key) {
+        Topology current = topology;
+        return current.misplaced().getOrDefault(key, current.ring().locate(key));
+    }
+    
+    /**
+     * Hold the topology lock and the user's lock (shared) until the surrounding transaction completes, so its
+     * shard transactions cannot interleave with a move of the user or a ring change
+     */
+    private void holdUntilCompletion(long key) {
+        HeldLocks held = (HeldLocks) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new HeldLocks();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(held);
+            held.lock(topologyLock.readLock());
+        }
+        held.lock(userLock(key).readLock());
+    }
+    
+    private <T> List<T> gather(Function<TodoShard, List<T>> query) {
+        return scatter(query).stream().flatMap(List::stream).toList();
+    }
+    
+    /**
+     * Run the query on every shard in parallel (virtual threads) and collect the results in shard order
+     */
+    <T> List<T> scatter(Function<TodoShard, T> query) {
+        Lock lock = topologyLock.readLock();
+        lock.lock();
+        try {
+            List<CompletableFuture<T>> results = topology.ring().nodes().stream()
+                    .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                    .toList();
+            return results.stream().map(ShardedTodoRepositoryAdapter::join).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private <T> List<Stream<T>> onEveryShard(Function<TodoShard, Stream<T>> query) {
+        Lock lock = topologyLock.readLock();
+        lock.lock();
+        try {
+            return topology.ring().nodes().stream().map(query).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private ReadWriteLock userLock(long key) {
+        return userLocks[Math.floorMod(Long.hashCode(key), LOCK_STRIPES)];
+    }
+    
+    private static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * K-way merge of streams that are each sorted by the comparator; closing the result closes them all
+     */
+    private static <T> Stream<T> mergeSorted(List<Stream<T>> streams, Comparator<T> order) {
+        record Head<T>(T value, Iterator<T> rest) {}
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Comparator.comparing(Head::value, order));
+        Supplier<Iterator<T>> merged = () -> {
+            streams.stream().map(Stream::iterator).filter(Iterator::hasNext)
+                    .forEach(iterator -> heads.add(new Head<>(iterator.next(), iterator)));
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !heads.isEmpty();
+                }
+                
+                @Override
+                public T next() {
+                    Head<T> head = heads.poll();
+                    if (head == null) {
+                        throw new NoSuchElementException();
+                    }
+                    if (head.rest().hasNext()) {
+                        heads.add(new Head<>(head.rest().next(), head.rest()));
+                    }
+                    return head.value();
+                }
+            };
+        };
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(merged.get(), 0), 0, false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+    
+    private static long key(Long userId) {
+        return Objects.requireNonNullElse(userId, NO_USER);
+    }
+    
+    private static Long userId(long key) {
+        return key == NO_USER ? null : key;
+    }
+    
+    private static String userCondition(Long userId) {
+        return userId == null ? "where user_id is null" : "where user_id = :userId";
+    }
+    
+    private static Map<String, Object> userParams(Long userId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        return params;
+    }
+    
+    private static Map<String, Object> with(Map<String, Object> params, String name, Object value) {
+        params.put(name, value);
+        return params;
+    }
+    
+    private static String pageCondition(Long userId, TodoCursor after, int limit) {
+        String keyset = after == null ? "" : " and (created_at > :createdAt or (created_at = :createdAt and id > :id))";
+        return userCondition(userId) + keyset + ORDER + " limit :limit";
+    }
+    
+    private static Map<String, Object> pageParams(Long userId, TodoCursor after, int limit) {
+        Map<String, Object> params = with(userParams(userId), "limit", limit);
+        if (after != null) {
+            params.put("createdAt", OffsetDateTime.ofInstant(after.createdAt(), ZoneOffset.UTC));
+            params.put("id", after.id());
+        }
+        return params;
+    }
+    
+    private static Todo withId(Long id, Todo todo) {
+        return Todo.restore(id, todo.getTitle(), todo.getDescription(), todo.isDone(), todo.getPriority(),
+                todo.getUserId(), todo.getCreatedAt(), todo.getUpdatedAt(), todo.getChangeSeq());
+    }
+    
+    /**
+     * Read locks taken for one transaction, released when it completes
+     */
+    private final class HeldLocks implements TransactionSynchronization {
+        
+        private final Deque<Lock> locks = new ArrayDeque<>();
+        
+        private void lock(Lock lock) {
+            if (!locks.contains(lock)) {
+                lock.lock();
+                locks.push(lock);
+            }
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardedTodoRepositoryAdapter.this);
+            while (!locks.isEmpty()) {
+                locks.pop().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Hash ring plus the users that still live on a shard other than their owner
+     */
+    private record Topology(ConsistentHashRing<TodoShard> ring, Map<Long, TodoShard> misplaced) {
+    }
+    
+    /**
+     * Hands out ids from blocks of todos_seq (the sequence advances by {@link Todo#ID_ALLOCATION_SIZE}, as for
+     * Hibernate's pooled-lo)
+     */
+    private static final class IdAllocator {
+        
+        private final JdbcTemplate jdbcTemplate;
+        private long next;
+        private long limit;
+        
+        private IdAllocator(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+        
+        private synchronized long next() {
+            if (next == limit) {
+                Long blockStart = jdbcTemplate.queryForObject("select nextval('todos_seq')", Long.class);
+                next = Objects.requireNonNull(blockStart);
+                limit = next + Todo.ID_ALLOCATION_SIZE;
+            }
+            return next++;
+        }
+    }
+}
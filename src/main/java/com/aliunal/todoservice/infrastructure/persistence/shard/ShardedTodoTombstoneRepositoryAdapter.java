@@ -0,0 +1,57 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import com.aliunal.todoservice.domain.todo.entity.TodoTombstone;
+import com.aliunal.todoservice.domain.todo.repository.TodoTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharded Todo Tombstone Repository Adapter - Infrastructure Layer
+ * Keeps the tombstones of a user's deleted todos on the shard that holds their todos, written in the same shard
+ * transaction as the delete
+ */
+@Timed(value = "todo.repository", description = "Time spent in todo persistence port methods")
+public class ShardedTodoTombstoneRepositoryAdapter implements TodoTombstoneRepository {
+    
+    private final ShardedTodoRepositoryAdapter shards;
+    
+    public ShardedTodoTombstoneRepositoryAdapter(ShardedTodoRepositoryAdapter shards) {
+        this.shards = shards;
+    }
+    
+    @Override
+    public void saveAll(Long userId, Collection<Long> todoIds, long changeSeq) {
+        Instant deletedAt = Instant.now();
+        List<TodoTombstone> tombstones = todoIds.stream()
+                .map(todoId -> new TodoTombstone(todoId, userId, changeSeq, deletedAt))
+                .toList();
+        shards.onShardOf(userId, shard -> {
+            shard.inTransaction(() -> shard.insertTombstones(tombstones));
+            return null;
+        });
+    }
+    
+    @Override
+    public List<Long> findTodoIdsByUserIdChangedAfter(Long userId, long changeSeq) {
+        return shards.onShardOf(userId, shard -> shard.tombstones(
+                        "where user_id = :userId and change_seq > :changeSeq order by change_seq",
+                        Map.of("userId", userId, "changeSeq", changeSeq)))
+                .stream()
+                .map(TodoTombstone::getId)
+                .toList();
+    }
+    
+    @Override
+    public int deleteDeletedBefore(Instant cutoff) {
+        return shards.scatter(shard -> shard.deleteTombstones("where deleted_at < :cutoff",
+                        Map.of("cutoff", cutoff.atOffset(ZoneOffset.UTC))))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+}
@@ -0,0 +1,460 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.entity.TodoTombstone;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Todo Shard - Infrastructure Layer
+ * One database holding the todos of the users the hash ring assigns to it, together with those users' counters,
+ * change versions and tombstones, so a write and its bookkeeping commit in one shard transaction. Accessed with
+ * plain SQL; Flyway applies the shard schema (db/shard) on startup.
+ */
+public class TodoShard implements Closeable {
+    
+    private static final String COLUMNS = "id, title, description, done, priority, user_id, created_at, updated_at, change_seq";
+    private static final String SELECT = "select " + COLUMNS + " from todos ";
+    private static final String SELECT_RESPONSE = "select id, title, description, done, priority, created_at, updated_at from todos ";
+    private static final String COUNTER_COLUMNS = "user_id, total, completed, low_priority, medium_priority, high_priority, version";
+    
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    
+    public TodoShard(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+    
+    public String name() {
+        return name;
+    }
+    
+    /**
+     * Bring the shard's schema up to date with db/shard (only the tables a shard owns)
+     */
+    public void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/shard")
+                // Own history table, so the primary database can be listed as a shard next to its db/migration history
+                .table("shard_schema_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+    
+    public List<Todo> todos(String where, Map<String, ?> params) {
+        return jdbc.query(SELECT + where, params, TodoShard::toTodo);
+    }
+    
+    public List<TodoResponse> responses(String where, Map<String, ?> params) {
+        return jdbc.query(SELECT_RESPONSE + where, params, TodoShard::toResponse);
+    }
+    
+    public Stream<TodoResponse> streamResponses(String where, Map<String, ?> params) {
+        return jdbc.queryForStream(SELECT_RESPONSE + where, params, TodoShard::toResponse);
+    }
+    
+    public Stream<TodoSearchDocument> streamSearchDocuments() {
+        return jdbc.queryForStream("select id, user_id, title, description, done from todos order by id", Map.of(),
+                (rs, rowNum) -> new TodoSearchDocument(rs.getLong("id"), nullableLong(rs, "user_id"),
+                        rs.getString("title"), rs.getString("description"), rs.getBoolean("done")));
+    }
+    
+    public Stream<TodoExportRow> streamExportRows(String where, Map<String, ?> params) {
+        return exportRows("todos", false, where, params);
+    }
+    
+    public Stream<TodoExportRow> streamArchivedExportRows(String where, Map<String, ?> params) {
+        return exportRows("todos_archive", true, where, params);
+    }
+    
+    private Stream<TodoExportRow> exportRows(String table, boolean archived, String where, Map<String, ?> params) {
+        return jdbc.queryForStream("select " + COLUMNS + " from " + table + " " + where, params,
+                (rs, rowNum) -> new TodoExportRow(rs.getLong("id"), nullableLong(rs, "user_id"), rs.getString("title"),
+                        rs.getString("description"), rs.getBoolean("done"), Priority.valueOf(rs.getString("priority")),
+                        instant(rs, "created_at"), instant(rs, "updated_at"), archived));
+    }
+    
+    public long maxId() {
+        Long maxId = jdbc.queryForObject("select greatest((select coalesce(max(id), 0) from todos), "
+                + "(select coalesce(max(id), 0) from todos_archive))", Map.of(), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+    
+    public long count(String where, Map<String, ?> params) {
+        Long count = jdbc.queryForObject("select count(*) from todos " + where, params, Long.class);
+        return count == null ? 0 : count;
+    }
+    
+    /**
+     * Todo counts per user, over the rows matching the condition
+     */
+    public Map<Long, TodoCounts> countsByUser(String where, Map<String, ?> params) {
+        Map<Long, TodoCounts> countsByUser = new HashMap<>();
+        jdbc.query("select user_id, done, priority, count(*) from todos " + where + " group by user_id, done, priority",
+                params, rs -> {
+                    TodoCounts counts = TodoCounts.of(rs.getBoolean(2), Priority.valueOf(rs.getString(3))).times(rs.getLong(4));
+                    countsByUser.merge(rs.getLong(1), counts, TodoCounts::plus);
+                });
+        return countsByUser;
+    }
+    
+    /**
+     * Distinct users with todos or counters on this shard (null for todos without a user)
+     */
+    public List<Long> userIds() {
+        return jdbc.query("select user_id from todos union select user_id from todo_counters", Map.of(),
+                (rs, rowNum) -> nullableLong(rs, "user_id"));
+    }
+    
+    /**
+     * Distinct owners of the todos matching the condition (null for todos without a user)
+     */
+    public List<Long> userIds(String where, Map<String, ?> params) {
+        return jdbc.query("select distinct user_id from todos " + where, params, (rs, rowNum) -> nullableLong(rs, "user_id"));
+    }
+    
+    public void insertAll(List<Todo> todos) {
+        jdbc.batchUpdate("insert into todos (" + COLUMNS + ") values (:id, :title, :description, :done, :priority, "
+                + ":userId, :createdAt, :updatedAt, :changeSeq)", parameters(todos));
+    }
+    
+    public void updateAll(List<Todo> todos) {
+        jdbc.batchUpdate("update todos set title = :title, description = :description, done = :done, priority = :priority, "
+                + "updated_at = :updatedAt, change_seq = :changeSeq where id = :id", parameters(todos));
+    }
+    
+    public int delete(String where, Map<String, ?> params) {
+        return jdbc.update("delete from todos " + where, params);
+    }
+    
+    /**
+     * Move the todos into this shard's archive table; rows no longer completed are left in place
+     */
+    public void archive(Collection<Long> ids, Instant archivedAt) {
+        Map<String, Object> params = Map.of("ids", ids, "archivedAt", timestamp(archivedAt));
+        inTransaction(() -> {
+            jdbc.update("insert into todos_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+                    + ", :archivedAt from todos where id in (:ids) and done = true", params);
+            jdbc.update("delete from todos where id in (:ids) and done = true", params);
+        });
+    }
+    
+    public List<TodoResponse> archivedResponses(String where, Map<String, ?> params) {
+        return jdbc.query("select id, title, description, done, priority, created_at, updated_at from todos_archive " + where,
+                params, TodoShard::toResponse);
+    }
+    
+    /**
+     * Counts per user, from the counters matching the condition
+     */
+    public Map<Long, TodoCounts> counters(String where, Map<String, ?> params) {
+        Map<Long, TodoCounts> countersByUser = new HashMap<>();
+        jdbc.query("select " + COUNTER_COLUMNS + " from todo_counters " + where, params,
+                rs -> {
+                    countersByUser.put(rs.getLong("user_id"), toCounts(rs));
+                });
+        return countersByUser;
+    }
+    
+    /**
+     * Add the (signed) delta to the user's counters and bump their change version, creating the row on first use;
+     * returns the new version. The row stays locked until the shard transaction ends.
+     */
+    public long addToCounters(Long userId, TodoCounts delta) {
+        Map<String, Object> params = counterParams(userId, delta);
+        String increment = "update todo_counters set total = total + :total, completed = completed + :completed, "
+                + "low_priority = low_priority + :low, medium_priority = medium_priority + :medium, "
+                + "high_priority = high_priority + :high, version = version + 1 where user_id = :userId";
+        if (jdbc.update(increment, params) == 0) {
+            insertCountersIfAbsent(userId);
+            jdbc.update(increment, params);
+        }
+        return version(userId);
+    }
+    
+    /**
+     * The user's change version (0 before their first write)
+     */
+    public long version(Long userId) {
+        return jdbc.queryForList("select version from todo_counters where user_id = :userId", Map.of("userId", userId),
+                        Long.class).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+    
+    /**
+     * Row-lock the user's counters until the shard transaction ends, creating the row if absent
+     */
+    public TodoCounts lockCounters(Long userId) {
+        insertCountersIfAbsent(userId);
+        return jdbc.queryForObject("select " + COUNTER_COLUMNS + " from todo_counters where user_id = :userId for update",
+                Map.of("userId", userId), (rs, rowNum) -> toCounts(rs));
+    }
+    
+    public void replaceCounters(Long userId, TodoCounts counts) {
+        jdbc.update("update todo_counters set total = :total, completed = :completed, low_priority = :low, "
+                + "medium_priority = :medium, high_priority = :high where user_id = :userId", counterParams(userId, counts));
+    }
+    
+    /**
+     * Record that the user's todos were deleted (or archived) by the write with the given change version
+     */
+    public void insertTombstones(List<TodoTombstone> tombstones) {
+        jdbc.batchUpdate("insert into todo_tombstones (todo_id, user_id, change_seq, deleted_at) "
+                        + "values (:todoId, :userId, :changeSeq, :deletedAt)",
+                tombstones.stream()
+                        .map(tombstone -> new MapSqlParameterSource()
+                                .addValue("todoId", tombstone.getId())
+                                .addValue("userId", tombstone.getUserId())
+                                .addValue("changeSeq", tombstone.getChangeSeq())
+                                .addValue("deletedAt", timestamp(tombstone.getDeletedAt())))
+                        .toArray(SqlParameterSource[]::new));
+    }
+    
+    public List<TodoTombstone> tombstones(String where, Map<String, ?> params) {
+        return jdbc.query("select todo_id, user_id, change_seq, deleted_at from todo_tombstones " + where, params,
+                (rs, rowNum) -> new TodoTombstone(rs.getLong("todo_id"), rs.getLong("user_id"), rs.getLong("change_seq"),
+                        instant(rs, "deleted_at")));
+    }
+    
+    public int deleteTombstones(String where, Map<String, ?> params) {
+        return jdbc.update("delete from todo_tombstones " + where, params);
+    }
+    
+    /**
+     * Everything stored for one user apart from the archive, for moving them to another shard
+     */
+    public UserRows userRows(Long userId) {
+        String where = userId == null ? "where user_id is null" : "where user_id = :userId";
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        List<CounterRow> counters = jdbc.query("select " + COUNTER_COLUMNS + " from todo_counters " + where, params,
+                (rs, rowNum) -> new CounterRow(toCounts(rs), rs.getLong("version")));
+        return new UserRows(userId, todos(where, params), counters.stream().findFirst(), tombstones(where, params));
+    }
+    
+    /**
+     * Store a user's rows taken from another shard, replacing any left here by an interrupted earlier move
+     */
+    public void replaceUserRows(UserRows rows) {
+        deleteUserRows(rows.userId());
+        if (!rows.todos().isEmpty()) {
+            insertAll(rows.todos());
+        }
+        rows.counters().ifPresent(counters -> {
+            Map<String, Object> params = counterParams(rows.userId(), counters.counts());
+            params.put("version", counters.version());
+            jdbc.update("insert into todo_counters (" + COUNTER_COLUMNS + ") "
+                    + "values (:userId, :total, :completed, :low, :medium, :high, :version)", params);
+        });
+        if (!rows.tombstones().isEmpty()) {
+            insertTombstones(rows.tombstones());
+        }
+    }
+    
+    public void deleteUserRows(Long userId) {
+        String where = userId == null ? "where user_id is null" : "where user_id = :userId";
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        delete(where, params);
+        jdbc.update("delete from todo_counters " + where, params);
+        deleteTombstones(where, params);
+    }
+    
+    public void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Run the work in a transaction on this shard. Inside a Spring transaction, the shard transaction is opened on
+     * first use, joined by later calls, and committed just before the surrounding transaction, which fails if that
+     * commit fails; otherwise it rolls back with it. Outside one, the work gets a transaction of its own.
+     */
+    public <T> T inTransaction(Supplier<T> work) {
+        if (!isSurroundingTransactionActive()) {
+            return transaction.execute(status -> work.get());
+        }
+        if (!TransactionSynchronizationManager.hasResource(dataSource)) {
+            joinSurroundingTransaction();
+        }
+        return work.get();
+    }
+    
+    static boolean isSurroundingTransactionActive() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+    
+    private void joinSurroundingTransaction() {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new CannotCreateTransactionException("Could not open a transaction on " + name, e);
+        }
+        // Bound like a DataSourceTransactionManager connection, so every JDBC call on this shard in the thread uses it
+        ConnectionHolder holder = new ConnectionHolder(connection);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(dataSource, holder);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(dataSource);
+            }
+            
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(dataSource, holder);
+            }
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                try {
+                    connection.commit();
+                } catch (SQLException e) {
+                    throw new TransactionSystemException("Could not commit the transaction on " + name, e);
+                }
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    throw new TransactionSystemException("Could not roll back the transaction on " + name, e);
+                } finally {
+                    JdbcUtils.closeConnection(connection);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+    
+    private static SqlParameterSource[] parameters(List<Todo> todos) {
+        return todos.stream()
+                .map(todo -> new MapSqlParameterSource()
+                        .addValue("id", todo.getId())
+                        .addValue("title", todo.getTitle())
+                        .addValue("description", todo.getDescription())
+                        .addValue("done", todo.isDone())
+                        .addValue("priority", todo.getPriority().name())
+                        .addValue("userId", todo.getUserId())
+                        .addValue("createdAt", timestamp(todo.getCreatedAt()))
+                        .addValue("updatedAt", timestamp(todo.getUpdatedAt()))
+                        .addValue("changeSeq", todo.getChangeSeq()))
+                .toArray(SqlParameterSource[]::new);
+    }
+    
+    private static Map<String, Object> counterParams(Long userId, TodoCounts counts) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("total", counts.total());
+        params.put("completed", counts.completed());
+        params.put("low", counts.low());
+        params.put("medium", counts.medium());
+        params.put("high", counts.high());
+        return params;
+    }
+    
+    private void insertCountersIfAbsent(Long userId) {
+        jdbc.update("insert into todo_counters (" + COUNTER_COLUMNS + ") values (:userId, 0, 0, 0, 0, 0, 0) "
+                + "on conflict do nothing", Map.of("userId", userId));
+    }
+    
+    private static TodoCounts toCounts(ResultSet rs) throws SQLException {
+        return new TodoCounts(rs.getLong("total"), rs.getLong("completed"), rs.getLong("low_priority"),
+                rs.getLong("medium_priority"), rs.getLong("high_priority"));
+    }
+    
+    private static Todo toTodo(ResultSet rs, int rowNum) throws SQLException {
+        return Todo.restore(rs.getLong("id"), rs.getString("title"), rs.getString("description"), rs.getBoolean("done"),
+                Priority.valueOf(rs.getString("priority")), nullableLong(rs, "user_id"), instant(rs, "created_at"),
+                instant(rs, "updated_at"), rs.getLong("change_seq"));
+    }
+    
+    private static TodoResponse toResponse(ResultSet rs, int rowNum) throws SQLException {
+        return new TodoResponse(rs.getLong("id"), rs.getString("title"), rs.getString("description"), rs.getBoolean("done"),
+                Priority.valueOf(rs.getString("priority")), instant(rs, "created_at"), instant(rs, "updated_at"));
+    }
+    
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+    
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).toInstant();
+    }
+    
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+    
+    /**
+     * A user's counters and change version
+     */
+    public record CounterRow(TodoCounts counts, long version) {
+    }
+    
+    /**
+     * A user's todos, counters and tombstones on one shard
+     */
+    public record UserRows(Long userId, List<Todo> todos, Optional<CounterRow> counters, List<TodoTombstone> tombstones) {
+    }
+}
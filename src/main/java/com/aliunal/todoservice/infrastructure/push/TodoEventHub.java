@@ -0,0 +1,223 @@
+package com.aliunal.todoservice.infrastructure.push;
+
+import com.aliunal.todoservice.domain.todo.event.TodoChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Todo Event Hub - Infrastructure Layer
+ * In-process fan-out of committed todo changes to the owner's Server-Sent Events connections.
+ * <p>
+ * Every event gets an id from one sequence and is kept in a bounded replay buffer, so a client reconnecting
+ * with Last-Event-ID receives what it missed. Each connection has its own bounded queue drained on a virtual
+ * thread; a consumer that falls a full queue behind, or asks to resume from an event no longer buffered,
+ * gets its backlog dropped and a single "resync" event, after which it catches up through the delta-sync
+ * endpoint. Heartbeats keep proxies from closing idle connections and advance the client's Last-Event-ID.
+ * Only changes made by this instance are seen.
+ */
+@Component
+@Profile("!reactive")
+public class TodoEventHub {
+    
+    static final String RESYNC = "resync";
+    
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final Executor sender = new VirtualThreadTaskExecutor("todo-push-");
+    private final int replayCapacity;
+    private final int connectionBufferSize;
+    private final Duration connectionTimeout;
+    private final Counter resyncs;
+    
+    // Guarded by this: ids are assigned, buffered and queued to connections in one step
+    private final ArrayDeque<Event> replay = new ArrayDeque<>();
+    private long lastEventId;
+    
+    public TodoEventHub(@Value("${app.push.replay-buffer-size:1024}") int replayCapacity,
+                        @Value("${app.push.connection-buffer-size:256}") int connectionBufferSize,
+                        @Value("${app.push.connection-timeout:30m}") Duration connectionTimeout,
+                        MeterRegistry meterRegistry) {
+        this.replayCapacity = replayCapacity;
+        this.connectionBufferSize = connectionBufferSize;
+        this.connectionTimeout = connectionTimeout;
+        // Ids continue from the start time, so a Last-Event-ID from before a restart is older than anything
+        // buffered and leads to a resync instead of replaying unrelated events
+        this.lastEventId = System.currentTimeMillis() * 1000;
+        Gauge.builder("todo.push.connections", connections, open -> open.values().stream().mapToInt(Set::size).sum())
+                .description("Open todo event (SSE) connections")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("todo.push.resyncs")
+                .description("Event connections told to resync because events were dropped or no longer buffered")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open an event stream for the user, replaying buffered events after lastEventId when given
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+        
+        // Flushes the response headers right away, so the client sees the stream open before the first event
+        connection.offer(SseEmitter.event().comment("connected"));
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(connection, lastEventId);
+            }
+            connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        return emitter;
+    }
+    
+    /**
+     * Push a committed change to the owner's connections
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent change) {
+        if (change.userId() == null) {
+            return;
+        }
+        synchronized (this) {
+            Event event = new Event(++lastEventId, change.userId(), change.type().name().toLowerCase(Locale.ROOT), change.todo());
+            replay.addLast(event);
+            if (replay.size() > replayCapacity) {
+                replay.removeFirst();
+            }
+            for (Connection connection : connections.getOrDefault(change.userId(), Set.of())) {
+                connection.offer(event.toSse());
+            }
+        }
+    }
+    
+    /**
+     * Comment line on every connection, carrying the current event id so an idle client resumes from here
+     */
+    @Scheduled(fixedDelayString = "${app.push.heartbeat-interval-ms:15000}")
+    public synchronized void heartbeat() {
+        SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().id(Long.toString(lastEventId)).comment("heartbeat");
+        connections.values().forEach(open -> open.forEach(connection -> connection.offerIfRoom(heartbeat)));
+    }
+    
+    /**
+     * Close all streams when shutdown starts; graceful web server shutdown would otherwise wait on them
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        connections.values().forEach(open -> open.forEach(connection -> connection.emitter.complete()));
+    }
+    
+    private void replay(Connection connection, long lastSeenId) {
+        long oldestBuffered = replay.isEmpty() ? lastEventId + 1 : replay.peekFirst().id();
+        if (lastSeenId < oldestBuffered - 1 || lastSeenId > lastEventId) {
+            connection.resync("expired");
+            return;
+        }
+        for (Event event : replay) {
+            if (event.id() > lastSeenId && event.userId().equals(connection.userId)) {
+                connection.offer(event.toSse());
+            }
+        }
+    }
+    
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (userId, open) -> {
+            open.remove(connection);
+            return open.isEmpty() ? null : open;
+        });
+    }
+    
+    private record Event(long id, Long userId, String name, Object data) {
+        
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+    
+    /**
+     * One client connection: a bounded queue of pending events, drained by at most one sender at a time
+     */
+    private final class Connection {
+        
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(connectionBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                resync("overflow");
+            }
+            drainLater();
+        }
+        
+        void offerIfRoom(SseEmitter.SseEventBuilder event) {
+            if (pending.offer(event)) {
+                drainLater();
+            }
+        }
+        
+        /** Drop the backlog; the client reloads through delta sync instead of receiving every missed event */
+        void resync(String reason) {
+            pending.clear();
+            pending.offer(SseEmitter.event().id(Long.toString(lastEventId)).name(RESYNC).data(reason));
+            resyncs.increment();
+            drainLater();
+        }
+        
+        private void drainLater() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    // Blocks while the client is slow to read; only this connection's queue backs up meanwhile
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's completion callback removes the connection
+                emitter.completeWithError(e);
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared still needs a sender
+            if (!pending.isEmpty()) {
+                drainLater();
+            }
+        }
+    }
+}
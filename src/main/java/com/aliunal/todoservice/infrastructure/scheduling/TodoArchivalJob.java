@@ -0,0 +1,56 @@
+package com.aliunal.todoservice.infrastructure.scheduling;
+
+import com.aliunal.todoservice.domain.todo.service.TodoArchiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Todo Archival Job - Infrastructure Layer
+ * Periodically moves completed todos older than app.archive.min-age into the archive, in small batches that each
+ * commit on their own; the candidates are re-selected every batch, so an interrupted run simply resumes next time
+ */
+@Component
+public class TodoArchivalJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoArchivalJob.class);
+    
+    private final TodoArchiver archiver;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatches;
+    
+    public TodoArchivalJob(TodoArchiver archiver,
+                           @Value("${app.archive.min-age:90d}") Duration minAge,
+                           @Value("${app.archive.batch-size:200}") int batchSize,
+                           @Value("${app.archive.max-batches:500}") int maxBatches) {
+        this.archiver = archiver;
+        this.minAge = minAge;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = maxBatches;
+    }
+    
+    /**
+     * Archive batches until one comes back short or the per-run cap is reached
+     */
+    @Scheduled(cron = "${app.archive.cron}")
+    public long run() {
+        Instant updatedBefore = Instant.now().minus(minAge);
+        long archived = 0;
+        int batches = 0;
+        int lastBatch;
+        do {
+            lastBatch = archiver.archiveBatch(updatedBefore, batchSize);
+            archived += lastBatch;
+            batches++;
+        } while (lastBatch == batchSize && batches < maxBatches);
+        log.info("Todo archival finished, {} todo(s) last updated before {} archived in {} batch(es)",
+                archived, updatedBefore, batches);
+        return archived;
+    }
+}
@@ -0,0 +1,44 @@
+package com.aliunal.todoservice.infrastructure.scheduling;
+
+import com.aliunal.todoservice.domain.todo.service.TodoCounterReconciler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Todo Counter Reconciliation Job - Infrastructure Layer
+ * Periodically compares the per-user todo counters with the todos table, reports drift and corrects it
+ */
+@Component
+public class TodoCounterReconciliationJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoCounterReconciliationJob.class);
+    
+    private final TodoCounterReconciler reconciler;
+    
+    public TodoCounterReconciliationJob(TodoCounterReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+    
+    /**
+     * Reconcile all drifted users, one short transaction per user
+     */
+    @Scheduled(cron = "${app.counters.reconcile-cron}")
+    public List<TodoCounterReconciler.Drift> run() {
+        List<TodoCounterReconciler.Drift> corrected = new ArrayList<>();
+        for (Long userId : reconciler.findDriftedUsers()) {
+            // Re-checked under lock: a user may only have looked drifted because a write was in flight
+            reconciler.reconcile(userId).ifPresent(drift -> {
+                log.warn("Todo counters drifted for user {}: stored {} but actual {} (difference {})",
+                        drift.userId(), drift.stored(), drift.actual(), drift.difference());
+                corrected.add(drift);
+            });
+        }
+        log.info("Todo counter reconciliation finished, {} user(s) corrected", corrected.size());
+        return corrected;
+    }
+}
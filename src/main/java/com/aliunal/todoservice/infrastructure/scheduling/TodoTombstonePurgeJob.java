@@ -0,0 +1,30 @@
+package com.aliunal.todoservice.infrastructure.scheduling;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Todo Tombstone Purge Job - Infrastructure Layer
+ * Periodically drops delete tombstones that have outlived the delta-sync retention window
+ */
+@Component
+public class TodoTombstonePurgeJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoTombstonePurgeJob.class);
+    
+    private final TodoService todoService;
+    
+    public TodoTombstonePurgeJob(TodoService todoService) {
+        this.todoService = todoService;
+    }
+    
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron}")
+    public int run() {
+        int purged = todoService.purgeExpiredTombstones();
+        log.info("Todo tombstone purge finished, {} tombstone(s) removed", purged);
+        return purged;
+    }
+}
@@ -0,0 +1,205 @@
+package com.aliunal.todoservice.infrastructure.search;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Lucene Todo Search Index - Infrastructure Layer
+ * Embedded Lucene index over todo title and description with per-user and done filters.
+ * Writes become searchable with the next search (near-real-time reader, reopened lazily so a burst of writes costs
+ * one reopen); they are committed to disk periodically and on shutdown.
+ */
+@Component
+public class LuceneTodoSearchIndex implements TodoSearchIndex, AutoCloseable {
+    
+    static final String ID = "id";
+    static final String USER_ID = "userId";
+    static final String DONE = "done";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    
+    // Title matches rank above description matches
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f);
+    private static final int REBUILD_COMMIT_INTERVAL = 100_000;
+    
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Writes applied to the IndexWriter vs. writes known to be visible to the current searcher
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong visibleWrites = new AtomicLong();
+    
+    /**
+     * Open (or create) the index at the given path; a blank path keeps the index in memory
+     */
+    public LuceneTodoSearchIndex(@Value("${app.search.index-path:}") String indexPath) throws IOException {
+        this.directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+    
+    @Override
+    public void upsert(TodoSearchDocument document) {
+        try {
+            writer.updateDocument(idTerm(document.id()), toDocument(document));
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index todo " + document.id(), e);
+        }
+    }
+    
+    @Override
+    public void delete(Long todoId) {
+        try {
+            writer.deleteDocuments(idTerm(todoId));
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove todo " + todoId + " from the index", e);
+        }
+    }
+    
+    @Override
+    public List<Long> search(Long userId, String query, Boolean done, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, SEARCH_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query text = parser.parse(query);
+        if (text == null) {
+            return List.of();
+        }
+        
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(text, BooleanClause.Occur.MUST);
+        if (userId != null) {
+            builder.add(new TermQuery(new Term(USER_ID, userId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (done != null) {
+            builder.add(new TermQuery(new Term(DONE, done.toString())), BooleanClause.Occur.FILTER);
+        }
+        
+        try {
+            refreshIfStale();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(builder.build(), limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc, Set.of(ID)).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Todo search failed", e);
+        }
+    }
+    
+    @Override
+    public void rebuild(Stream<TodoSearchDocument> documents) {
+        try {
+            writer.deleteAll();
+            long added = 0;
+            for (Iterator<TodoSearchDocument> it = documents.iterator(); it.hasNext(); ) {
+                writer.addDocument(toDocument(it.next()));
+                if (++added % REBUILD_COMMIT_INTERVAL == 0) {
+                    writer.commit();
+                }
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild the todo search index", e);
+        }
+    }
+    
+    /**
+     * Reopen the searcher if writes happened since the last reopen, so callers always see their own writes.
+     * Reopening holds IndexWriter monitors (pinning a virtual thread's carrier), so it is kept off the write path.
+     */
+    private void refreshIfStale() throws IOException {
+        long pending = writes.get();
+        if (visibleWrites.get() < pending) {
+            searcherManager.maybeRefreshBlocking();
+            visibleWrites.accumulateAndGet(pending, Math::max);
+        }
+    }
+    
+    @Override
+    public long size() {
+        return writer.getDocStats().numDocs;
+    }
+    
+    /**
+     * Persist pending index changes; searches do not depend on it
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+    
+    @Override
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+    
+    private static Term idTerm(Long todoId) {
+        return new Term(ID, todoId.toString());
+    }
+    
+    private static Document toDocument(TodoSearchDocument todo) {
+        Document document = new Document();
+        document.add(new StringField(ID, todo.id().toString(), Field.Store.YES));
+        document.add(new StringField(USER_ID, String.valueOf(todo.userId()), Field.Store.NO));
+        document.add(new StringField(DONE, Boolean.toString(todo.done()), Field.Store.NO));
+        document.add(new TextField(TITLE, todo.title(), Field.Store.NO));
+        if (todo.description() != null) {
+            document.add(new TextField(DESCRIPTION, todo.description(), Field.Store.NO));
+        }
+        return document;
+    }
+}
@@ -0,0 +1,38 @@
+package com.aliunal.todoservice.infrastructure.search;
+
+import com.aliunal.todoservice.domain.todo.service.TodoSearchIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Todo Search Index Initializer - Infrastructure Layer
+ * Rebuilds the search index on startup when it is out of sync with the database,
+ * or unconditionally when started with {@code --rebuild-search-index}
+ */
+@Component
+public class TodoSearchIndexInitializer implements ApplicationRunner {
+    
+    static final String REBUILD_OPTION = "rebuild-search-index";
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndexInitializer.class);
+    
+    private final TodoSearchIndexer indexer;
+    
+    public TodoSearchIndexInitializer(TodoSearchIndexer indexer) {
+        this.indexer = indexer;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean requested = args.containsOption(REBUILD_OPTION);
+        if (requested || indexer.isOutOfSync()) {
+            log.info("Rebuilding todo search index ({})", requested ? "requested" : "out of sync with database");
+            long started = System.nanoTime();
+            long size = indexer.rebuild();
+            log.info("Todo search index rebuilt with {} todos in {} ms", size, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
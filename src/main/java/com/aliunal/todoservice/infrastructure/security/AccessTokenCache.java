@@ -0,0 +1,95 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Access Token Cache
+ * Bounded cache of verified access tokens in front of JwtTokenProvider, so a client reusing its token
+ * skips decoding, JSON parsing and HMAC verification. Entries are keyed by a SHA-256 digest of the raw token
+ * (tokens themselves are never held) and expire exactly at the token's own expiry. Invalid tokens are not cached.
+ * Every lookup is timed as auth.jwt.validation, tagged with its outcome (cached, valid or invalid).
+ */
+@Component
+public class AccessTokenCache {
+    
+    private static final String CACHE_NAME = "jwtAccessTokens";
+    
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, JwtPrincipal> verified;
+    private final Timer cachedTimer;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    
+    public AccessTokenCache(JwtTokenProvider jwtTokenProvider,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.jwt.token-cache.max-size:10000}") long maxSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, JwtPrincipal principal) -> timeToLive(principal)))
+                .recordStats()
+                .build();
+        // Same tag keys as the cache.* meters Spring binds for its own caches; Prometheus rejects a second key set
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME,
+                Tags.of("cache.manager", "accessTokenCache", "name", CACHE_NAME));
+        this.cachedTimer = validationTimer(meterRegistry, "cached");
+        this.validTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+    }
+    
+    /**
+     * Principal of a valid access token, verified at most once per token while it stays cached
+     */
+    public Optional<JwtPrincipal> parseAccessToken(String token) {
+        Timer.Sample sample = Timer.start();
+        String digest = digest(token);
+        JwtPrincipal cached = verified.getIfPresent(digest);
+        // Expiry is also checked here, so a token is never accepted past its exp even before the entry is evicted
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            sample.stop(cachedTimer);
+            return Optional.of(cached);
+        }
+        
+        Optional<JwtPrincipal> principal = jwtTokenProvider.parseAccessToken(token);
+        principal.ifPresent(p -> verified.put(digest, p));
+        sample.stop(principal.isPresent() ? validTimer : invalidTimer);
+        return principal;
+    }
+    
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.validation")
+                .description("Time spent validating access tokens")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private static Duration timeToLive(JwtPrincipal principal) {
+        Duration remaining = Duration.between(Instant.now(), principal.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+    
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Admin Authorities
+ * ROLE_ADMIN for the users whose id is listed in security.admin-user-ids; shared by the servlet and
+ * reactive JWT filters so both stacks grant the same roles. Keyed by the user id of the signed token rather
+ * than the email, since registration does not verify emails and anyone could sign up with a listed address.
+ */
+@Component
+public class AdminAuthorities {
+    
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    
+    private final Set<Long> adminUserIds;
+    
+    public AdminAuthorities(@Value("${security.admin-user-ids:}") List<String> adminUserIds) {
+        this.adminUserIds = adminUserIds.stream()
+                .filter(StringUtils::hasText)
+                .map(userId -> Long.valueOf(userId.trim()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+    
+    /**
+     * ROLE_ADMIN for the configured administrator user ids, no authorities otherwise
+     */
+    public List<GrantedAuthority> of(JwtPrincipal principal) {
+        return principal.userId() != null && adminUserIds.contains(principal.userId()) ? ADMIN : List.of();
+    }
+}
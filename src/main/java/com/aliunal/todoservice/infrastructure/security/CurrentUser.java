@@ -0,0 +1,24 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Current User
+ * Binds a controller parameter to the authenticated user resolved by the JWT filter:
+ * a {@link JwtPrincipal} parameter receives the principal, a {@link Long} parameter its user ID.
+ * The token is never parsed again in the controller.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+    
+    /**
+     * Whether an unauthenticated request is rejected (401) or resolves to {@code null}
+     */
+    boolean required() default true;
+}
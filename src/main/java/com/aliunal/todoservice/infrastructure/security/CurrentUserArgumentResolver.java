@@ -0,0 +1,41 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Current User Argument Resolver
+ * Resolves {@link CurrentUser} parameters from the {@link JwtPrincipal} in the security context
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == JwtPrincipal.class || type == Long.class);
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        JwtPrincipal principal = authentication != null && authentication.getPrincipal() instanceof JwtPrincipal jwt
+                ? jwt
+                : null;
+        
+        if (principal == null) {
+            if (parameter.getParameterAnnotation(CurrentUser.class).required()) {
+                throw new AuthenticationCredentialsNotFoundException("Missing or invalid access token");
+            }
+            return null;
+        }
+        return parameter.getParameterType() == Long.class ? principal.userId() : principal;
+    }
+}
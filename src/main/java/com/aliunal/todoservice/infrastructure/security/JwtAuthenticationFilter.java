@@ -4,29 +4,30 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * JWT Authentication Filter
  * Processes JWT tokens from request headers and sets authentication context
  */
 @Component
+@Profile("!reactive")
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AccessTokenCache accessTokenCache;
+    private final AdminAuthorities adminAuthorities;
     
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    public JwtAuthenticationFilter(AccessTokenCache accessTokenCache, AdminAuthorities adminAuthorities) {
+        this.accessTokenCache = accessTokenCache;
+        this.adminAuthorities = adminAuthorities;
     }
     
     @Override
@@ -34,36 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                    HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         
-        try {
-            String jwt = getJwtFromRequest(request);
-            
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateAccessToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                
-                // Create UserDetails for Spring Security
-                UserDetails userDetails = User.builder()
-                    .username(email)
-                    .password("") // Not used for JWT
-                    .authorities(new ArrayList<>()) // Can be extended for roles
-                    .build();
-                
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        String jwt = getJwtFromRequest(request);
+        
+        if (StringUtils.hasText(jwt)) {
+            // At most one signature verification per token (cached until exp); controllers read the principal via @CurrentUser
+            accessTokenCache.parseAccessToken(jwt).ifPresent(principal -> {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, adminAuthorities.of(principal));
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                // Set current user details in custom attribute
-                request.setAttribute("currentUserId", userId);
-                request.setAttribute("currentUserEmail", email);
-                request.setAttribute("currentUsername", username);
-                
-                // Set authentication in security context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
-        } catch (Exception ex) {
-            logger.error("Could not set user authentication in security context", ex);
+            });
         }
         
         filterChain.doFilter(request, response);
@@ -0,0 +1,51 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * JWT Authentication Web Filter
+ * Reactive counterpart of {@link JwtAuthenticationFilter}: verifies the bearer token once (via the token cache)
+ * and puts the principal into the reactive security context for the rest of the exchange
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    
+    private final AccessTokenCache accessTokenCache;
+    private final AdminAuthorities adminAuthorities;
+    
+    public JwtAuthenticationWebFilter(AccessTokenCache accessTokenCache, AdminAuthorities adminAuthorities) {
+        this.accessTokenCache = accessTokenCache;
+        this.adminAuthorities = adminAuthorities;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange);
+        if (!StringUtils.hasText(jwt)) {
+            return chain.filter(exchange);
+        }
+        
+        // Verification is CPU-only (HMAC) and usually a cache hit, so it is safe on the event loop
+        return accessTokenCache.parseAccessToken(jwt)
+                .map(principal -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, adminAuthorities.of(principal)))))
+                .orElseGet(() -> chain.filter(exchange));
+    }
+    
+    /**
+     * Extract JWT token from Authorization header
+     */
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
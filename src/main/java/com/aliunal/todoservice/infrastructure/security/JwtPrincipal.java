@@ -0,0 +1,10 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * JWT Principal
+ * Immutable identity taken from a verified access token; stored as the principal of the security context
+ */
+public record JwtPrincipal(Long userId, String email, String username, Instant expiresAt) {
+}
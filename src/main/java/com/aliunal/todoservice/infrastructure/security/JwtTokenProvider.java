@@ -1,6 +1,8 @@
 package com.aliunal.todoservice.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +12,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT Token Provider
@@ -18,7 +21,11 @@ import java.util.Map;
 @Component
 public class JwtTokenProvider {
     
+    private static final String ACCESS_TOKEN = "access";
+    private static final String REFRESH_TOKEN = "refresh";
+    
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final long accessTokenValidityInMs;
     private final long refreshTokenValidityInMs;
     
@@ -28,6 +35,8 @@ public class JwtTokenProvider {
             @Value("${security.jwt.refresh-token-validity:604800000}") long refreshTokenValidityInMs) {
         
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        // Parsers are immutable and thread-safe; build once instead of per call
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
         this.accessTokenValidityInMs = accessTokenValidityInMs;
         this.refreshTokenValidityInMs = refreshTokenValidityInMs;
     }
@@ -40,7 +49,7 @@ public class JwtTokenProvider {
         claims.put("userId", userId);
         claims.put("email", email);
         claims.put("username", username);
-        claims.put("type", "access");
+        claims.put("type", ACCESS_TOKEN);
         
         return createToken(claims, email, accessTokenValidityInMs);
     }
@@ -52,7 +61,7 @@ public class JwtTokenProvider {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("email", email);
-        claims.put("type", "refresh");
+        claims.put("type", REFRESH_TOKEN);
         
         return createToken(claims, email, refreshTokenValidityInMs);
     }
@@ -73,6 +82,36 @@ public class JwtTokenProvider {
                 .compact();
     }
     
+    /**
+     * Verify an access token once and return its principal; empty if the token is invalid, expired or not an access token
+     */
+    public Optional<JwtPrincipal> parseAccessToken(String token) {
+        return parseVerifiedClaims(token, ACCESS_TOKEN).map(claims -> new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("username", String.class),
+                claims.getExpiration().toInstant()));
+    }
+    
+    /**
+     * Verify a refresh token once and return its user ID; empty if the token is invalid, expired or not a refresh token
+     */
+    public Optional<Long> parseRefreshToken(String token) {
+        return parseVerifiedClaims(token, REFRESH_TOKEN).map(claims -> claims.get("userId", Long.class));
+    }
+    
+    /**
+     * Parse and verify the token (signature and expiry) and check its type, in a single pass
+     */
+    private Optional<Claims> parseVerifiedClaims(String token, String expectedType) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return expectedType.equals(claims.get("type", String.class)) ? Optional.of(claims) : Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
     /**
      * Extract user ID from token
      */
@@ -115,11 +154,7 @@ public class JwtTokenProvider {
      * Extract all claims from token
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
     
     /**
@@ -135,16 +170,13 @@ public class JwtTokenProvider {
     }
     
     /**
-     * Validate token
+     * Validate token (the parser rejects bad signatures and expired tokens)
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
+            jwtParser.parseSignedClaims(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
@@ -153,23 +185,13 @@ public class JwtTokenProvider {
      * Validate access token specifically
      */
     public boolean validateAccessToken(String token) {
-        if (!validateToken(token)) {
-            return false;
-        }
-        
-        String tokenType = getTokenTypeFromToken(token);
-        return "access".equals(tokenType);
+        return parseVerifiedClaims(token, ACCESS_TOKEN).isPresent();
     }
     
     /**
      * Validate refresh token specifically
      */
     public boolean validateRefreshToken(String token) {
-        if (!validateToken(token)) {
-            return false;
-        }
-        
-        String tokenType = getTokenTypeFromToken(token);
-        return "refresh".equals(tokenType);
+        return parseVerifiedClaims(token, REFRESH_TOKEN).isPresent();
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management Port
+ * Local port of the separate actuator server (management.server.port), learned when that server starts.
+ * Requests arriving on it come from the monitoring network, not from API clients; while actuator shares the
+ * application port (or is not running) no request matches.
+ */
+@Component
+public class ManagementPort implements ApplicationListener<WebServerInitializedEvent> {
+    
+    private static final String MANAGEMENT_NAMESPACE = "management";
+    
+    private volatile int port = -1;
+    
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        // Published by the actuator child context and passed on to this (parent) context
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+    
+    /**
+     * Whether a request that arrived on the given local port was served by the management server
+     */
+    public boolean matches(int localPort) {
+        return port > 0 && localPort == port;
+    }
+}
@@ -0,0 +1,40 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Current User Argument Resolver
+ * Resolves {@link CurrentUser} parameters on the reactive stack from the {@link JwtPrincipal}
+ * in the reactive security context
+ */
+public class ReactiveCurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == JwtPrincipal.class || type == Long.class);
+    }
+    
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext,
+                                        ServerWebExchange exchange) {
+        Mono<JwtPrincipal> principal = ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.getPrincipal() instanceof JwtPrincipal)
+                .map(authentication -> (JwtPrincipal) authentication.getPrincipal());
+        
+        if (parameter.getParameterAnnotation(CurrentUser.class).required()) {
+            principal = principal.switchIfEmpty(Mono.error(
+                    () -> new AuthenticationCredentialsNotFoundException("Missing or invalid access token")));
+        }
+        return principal.map(jwt -> parameter.getParameterType() == Long.class ? jwt.userId() : jwt);
+    }
+}
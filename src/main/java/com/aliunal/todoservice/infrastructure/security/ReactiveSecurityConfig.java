@@ -0,0 +1,89 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+
+/**
+ * Reactive Security Configuration
+ * Stateless JWT security for the reactive stack ("reactive" profile). Tokens are issued by the servlet
+ * deployment (login, OAuth2); reactive nodes only verify them and answer 401 instead of redirecting to a login page.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+    
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
+    }
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         AccessTokenCache accessTokenCache,
+                                                         AdminAuthorities adminAuthorities,
+                                                         ManagementPort managementPort) {
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            
+            // Same access rules as the servlet stack
+            .authorizeExchange(authz -> authz
+                .pathMatchers("/actuator/health/**", "/livez", "/readyz").permitAll()
+                // Scraped by Prometheus without a user token, but only on the management port
+                .matchers(exchange -> isManagementPort(exchange, managementPort)
+                        ? new PathPatternParserServerWebExchangeMatcher("/actuator/prometheus").matches(exchange)
+                        : ServerWebExchangeMatcher.MatchResult.notMatch()).permitAll()
+                .pathMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                .pathMatchers("/actuator/**").hasRole("ADMIN")
+                .pathMatchers("/api/v1/todos/**").authenticated()
+                .anyExchange().authenticated()
+            )
+            
+            .addFilterAt(new JwtAuthenticationWebFilter(accessTokenCache, adminAuthorities), SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+    
+    private static boolean isManagementPort(ServerWebExchange exchange, ManagementPort managementPort) {
+        InetSocketAddress localAddress = exchange.getRequest().getLocalAddress();
+        return localAddress != null && managementPort.matches(localAddress.getPort());
+    }
+    
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:*", "https://localhost:*"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+        
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
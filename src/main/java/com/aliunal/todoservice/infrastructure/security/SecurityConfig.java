@@ -1,7 +1,10 @@
 package com.aliunal.todoservice.infrastructure.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -20,21 +23,25 @@ import java.util.Arrays;
  * Configures Spring Security for JWT authentication and OAuth2
  */
 @Configuration
+@Profile("!reactive")
 @EnableWebSecurity
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
+    private final ManagementPort managementPort;
     
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
-                         OAuth2SuccessHandler oAuth2SuccessHandler) {
+                         OAuth2SuccessHandler oAuth2SuccessHandler,
+                         ManagementPort managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.oAuth2SuccessHandler = oAuth2SuccessHandler;
+        this.managementPort = managementPort;
     }
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
     
     @Bean
@@ -45,14 +52,23 @@ public class SecurityConfig {
             
             // Configure authorization
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches (streaming responses) continue a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/static/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/livez", "/readyz").permitAll()
+                // Scraped by Prometheus without a user token, but only on the management port
+                .requestMatchers(request -> managementPort.matches(request.getLocalPort())
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                 
                 // Protected endpoints
+                .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/v1/todos/**").authenticated()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,49 @@
+package com.aliunal.todoservice.shared.config;
+
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache Configuration
+ * In-process Caffeine caches (W-TinyLFU eviction); statistics are recorded and published as cache.* metrics
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    /**
+     * Per-user todo lists with the change version they were read at, keyed by user ID
+     */
+    public static final String TODO_LISTS = "todoLists";
+    
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.todo-lists.max-todos:200000}") long maxTodos,
+            @Value("${app.cache.todo-lists.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        // Only the caches registered here exist; unknown cache names fail instead of creating unbounded caches
+        cacheManager.setCacheNames(List.of());
+        
+        // Bounded by the number of cached todos rather than users, so a few huge lists cannot crowd out memory.
+        // Synchronous in both thread modes: the load runs on the caller's thread, inside its read-only transaction
+        // and under the per-key lock that makes evictions wait for it. With virtual threads that lock pins the
+        // carrier for the duration of the one list query (JDK 21 monitors).
+        cacheManager.registerCustomCache(TODO_LISTS, Caffeine.newBuilder()
+                .maximumWeight(maxTodos)
+                .weigher((Object userId, Object list) -> 1 + ((VersionedTodoList) list).todos().size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
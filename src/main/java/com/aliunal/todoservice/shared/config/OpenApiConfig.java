@@ -1,9 +1,11 @@
 package com.aliunal.todoservice.shared.config;
 
+import com.aliunal.todoservice.infrastructure.security.CurrentUser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +18,11 @@ import java.util.List;
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // Resolved from the security context, not a request parameter
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
     @Bean
     public OpenAPI todoServiceOpenAPI() {
         Server devServer = new Server();
@@ -0,0 +1,32 @@
+package com.aliunal.todoservice.shared.config;
+
+import com.aliunal.todoservice.infrastructure.security.ReactiveCurrentUserArgumentResolver;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Reactive Web Configuration
+ * WebFlux on Netty for the "reactive" profile, and the @CurrentUser argument resolver
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    
+    /**
+     * Netty event loop instead of Tomcat, which Boot would otherwise pick because it is on the classpath
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        // @CurrentUser parameters come from the principal the JWT web filter put in the reactive security context
+        configurer.addCustomResolver(new ReactiveCurrentUserArgumentResolver());
+    }
+}
@@ -0,0 +1,13 @@
+package com.aliunal.todoservice.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables background jobs such as the todo counter reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
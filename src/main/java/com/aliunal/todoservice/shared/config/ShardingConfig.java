@@ -0,0 +1,74 @@
+package com.aliunal.todoservice.shared.config;
+
+import com.aliunal.todoservice.infrastructure.persistence.shard.ShardedTodoCounterRepositoryAdapter;
+import com.aliunal.todoservice.infrastructure.persistence.shard.ShardedTodoRepositoryAdapter;
+import com.aliunal.todoservice.infrastructure.persistence.shard.ShardedTodoTombstoneRepositoryAdapter;
+import com.aliunal.todoservice.infrastructure.persistence.shard.TodoShard;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding Configuration
+ * Active when app.sharding.shard-urls lists shard databases. Todos then live on the shards, spread by a consistent
+ * hash of the user id, together with each user's counters, change version and tombstones; users and the id sequence
+ * stay on the primary database. The list is append-only: a new URL at the end joins the ring on restart and the
+ * users it takes over are moved in the background.
+ * Not used with the "reactive" profile, which has its own R2DBC repositories.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnExpression("!'${app.sharding.shard-urls:}'.isBlank()")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedTodoRepositoryAdapter shardedTodoRepositoryAdapter(
+            DataSourceProperties properties,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.sharding.shard-urls}") List<String> urls,
+            @Value("${app.sharding.virtual-nodes:128}") int virtualNodes,
+            @Value("${app.sharding.pool-size:10}") int poolSize) {
+        List<TodoShard> shards = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shardDataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            shardDataSource.setPoolName("todo-shard-" + (i + 1));
+            shardDataSource.setMaximumPoolSize(poolSize);
+            shardDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(new TodoShard("shard-" + (i + 1), shardDataSource));
+        }
+        ShardedTodoRepositoryAdapter adapter = new ShardedTodoRepositoryAdapter(shards, dataSource, virtualNodes);
+        // Users left behind by a shard added since the last start (or an interrupted move) go to their owner
+        adapter.rebalance();
+        return adapter;
+    }
+    
+    @Bean
+    @Primary
+    public ShardedTodoCounterRepositoryAdapter shardedTodoCounterRepositoryAdapter(ShardedTodoRepositoryAdapter shards) {
+        return new ShardedTodoCounterRepositoryAdapter(shards);
+    }
+    
+    @Bean
+    @Primary
+    public ShardedTodoTombstoneRepositoryAdapter shardedTodoTombstoneRepositoryAdapter(ShardedTodoRepositoryAdapter shards) {
+        return new ShardedTodoTombstoneRepositoryAdapter(shards);
+    }
+}
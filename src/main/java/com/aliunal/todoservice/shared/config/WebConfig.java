@@ -1,16 +1,22 @@
 package com.aliunal.todoservice.shared.config;
 
+import com.aliunal.todoservice.infrastructure.security.CurrentUserArgumentResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
- * Web Configuration for Swagger UI
- * Ensures proper resource handling and routing for Swagger UI
+ * Web Configuration
+ * Resource handling and routing for Swagger UI, and the @CurrentUser argument resolver
  */
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
@@ -23,6 +29,12 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/META-INF/resources/swagger-ui.html");
     }
 
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // @CurrentUser parameters come from the principal the JWT filter put in the security context
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // Redirect root swagger-ui to swagger-ui.html
@@ -0,0 +1,21 @@
+package com.aliunal.todoservice.shared.dto;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Todo Bulk Create Request DTO - API Layer
+ * Data Transfer Object for creating many todos in one request
+ */
+public record TodoBulkCreateRequest(
+        
+        @NotEmpty(message = "At least one todo is required")
+        @Size(max = TodoService.MAX_BULK_SIZE, message = "At most " + TodoService.MAX_BULK_SIZE + " todos per request")
+        List<@NotNull @Valid TodoRequest> todos
+) {
+}
@@ -0,0 +1,20 @@
+package com.aliunal.todoservice.shared.dto;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Todo Bulk Delete Request DTO - API Layer
+ * Data Transfer Object for deleting many todos in one request
+ */
+public record TodoBulkDeleteRequest(
+        
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = TodoService.MAX_BULK_SIZE, message = "At most " + TodoService.MAX_BULK_SIZE + " ids per request")
+        List<@NotNull Long> ids
+) {
+}
@@ -0,0 +1,35 @@
+package com.aliunal.todoservice.shared.dto;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Todo Bulk Update Request DTO - API Layer
+ * Data Transfer Object for updating many todos in one request
+ */
+public record TodoBulkUpdateRequest(
+        
+        @NotEmpty(message = "At least one todo is required")
+        @Size(max = TodoService.MAX_BULK_SIZE, message = "At most " + TodoService.MAX_BULK_SIZE + " todos per request")
+        List<@NotNull @Valid Item> todos
+) {
+    
+    /**
+     * Changes for a single todo identified by its ID
+     */
+    public record Item(
+            
+            @NotNull(message = "Id is required")
+            Long id,
+            
+            @NotNull(message = "Changes are required")
+            @Valid
+            TodoRequest changes
+    ) {
+    }
+}
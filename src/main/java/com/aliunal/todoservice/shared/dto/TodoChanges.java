@@ -0,0 +1,17 @@
+package com.aliunal.todoservice.shared.dto;
+
+import java.util.List;
+
+/**
+ * Todo Changes DTO - API Layer
+ * Todos created or modified and IDs of todos deleted since a sync cursor, plus the cursor for the next sync.
+ * When reset is true the cursor was missing or expired and changed holds all of the user's todos,
+ * so the client replaces its local copy instead of merging.
+ */
+public record TodoChanges(
+        List<TodoResponse> changed,
+        List<Long> deleted,
+        String cursor,
+        boolean reset
+) {
+}
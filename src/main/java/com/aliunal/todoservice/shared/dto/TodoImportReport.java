@@ -0,0 +1,19 @@
+package com.aliunal.todoservice.shared.dto;
+
+import java.util.List;
+
+/**
+ * Todo Import Report DTO - API Layer
+ * Outcome of a bulk import: todos created, rows rejected and the transactions (batches) used.
+ * errors lists the first rejected rows by line number; rejected counts all of them.
+ */
+public record TodoImportReport(
+        long imported,
+        long rejected,
+        int batches,
+        List<Error> errors
+) {
+    
+    public record Error(long line, String message) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.aliunal.todoservice.shared.dto;
+
+import java.util.List;
+
+/**
+ * Todo Page DTO - API Layer
+ * One page of todos plus the cursor for fetching the next page (null on the last page)
+ */
+public record TodoPage(
+        List<TodoResponse> items,
+        String nextCursor
+) {
+}
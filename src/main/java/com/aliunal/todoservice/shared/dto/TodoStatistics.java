@@ -1,5 +1,10 @@
 package com.aliunal.todoservice.shared.dto;
 
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.shared.enums.Priority;
+
+import java.util.Map;
+
 /**
  * Todo Statistics DTO - API Layer
  * Data Transfer Object for todo statistics
@@ -7,6 +12,10 @@ package com.aliunal.todoservice.shared.dto;
 public record TodoStatistics(
         long total,
         long completed,
-        long pending
+        long pending,
+        Map<Priority, Long> byPriority
 ) {
-}
\ No newline at end of file
+    public static TodoStatistics from(TodoCounts counts) {
+        return new TodoStatistics(counts.total(), counts.completed(), counts.pending(), counts.byPriority());
+    }
+}
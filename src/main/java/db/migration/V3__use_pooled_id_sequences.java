@@ -0,0 +1,40 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the pooled id sequences for users and todos.
+ * Written in Java because each sequence has to start after the highest id already
+ * handed out by the identity columns, which plain SQL cannot express in H2.
+ */
+public class V3__use_pooled_id_sequences extends BaseJavaMigration {
+
+    /**
+     * Must match the allocationSize of the entity @SequenceGenerator mappings
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            createSequenceAfterMaxId(statement, "users_seq", "users");
+            createSequenceAfterMaxId(statement, "todos_seq", "todos");
+        }
+    }
+
+    private void createSequenceAfterMaxId(Statement statement, String sequence, String table) throws SQLException {
+        long maxId;
+        try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            maxId = resultSet.getLong(1);
+        }
+        statement.execute("CREATE SEQUENCE " + sequence
+                + " START WITH " + (maxId + 1)
+                + " INCREMENT BY " + ALLOCATION_SIZE);
+    }
+}
@@ -0,0 +1,27 @@
+-- Baseline schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email         VARCHAR(255)                NOT NULL UNIQUE,
+    username      VARCHAR(100),
+    password_hash VARCHAR(255),
+    auth_provider ENUM ('EMAIL', 'GOOGLE')    NOT NULL,
+    provider_id   VARCHAR(255),
+    enabled       BOOLEAN                     NOT NULL,
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE todos (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title       VARCHAR(255)                  NOT NULL,
+    description VARCHAR(1000),
+    done        BOOLEAN                       NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    user_id     BIGINT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE   NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE   NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes matched to the query shapes in JpaTodoRepository / JpaUserRepository.
+-- findByIdAndUserId is served by the primary key; findByTitleContainingIgnoreCase
+-- (LIKE '%x%') cannot use a B-tree index and is intentionally not covered.
+
+-- findByUserId, keyset pages ordered by (created_at, id)
+CREATE INDEX idx_todos_user_created ON todos (user_id, created_at, id);
+
+-- findByUserIdAndDone
+CREATE INDEX idx_todos_user_done ON todos (user_id, done);
+
+-- findByDone, countByDone
+CREATE INDEX idx_todos_done ON todos (done);
+
+-- findByPriority
+CREATE INDEX idx_todos_priority ON todos (priority);
+
+-- findByAuthProviderAndProviderId (OAuth login)
+CREATE INDEX idx_users_provider ON users (auth_provider, provider_id);
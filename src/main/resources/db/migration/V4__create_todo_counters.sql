@@ -0,0 +1,23 @@
+-- Per-user todo counters, maintained by every todo write so statistics are a primary-key read.
+-- Backfilled from the existing todos; TodoCounterReconciliationJob corrects any later drift.
+
+CREATE TABLE todo_counters (
+    user_id         BIGINT NOT NULL,
+    total           BIGINT NOT NULL,
+    completed       BIGINT NOT NULL,
+    low_priority    BIGINT NOT NULL,
+    medium_priority BIGINT NOT NULL,
+    high_priority   BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+INSERT INTO todo_counters (user_id, total, completed, low_priority, medium_priority, high_priority)
+SELECT user_id,
+       COUNT(*),
+       SUM(CASE WHEN done THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'LOW' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'MEDIUM' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'HIGH' THEN 1 ELSE 0 END)
+FROM todos
+WHERE user_id IS NOT NULL
+GROUP BY user_id;
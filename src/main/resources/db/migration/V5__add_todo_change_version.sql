@@ -0,0 +1,4 @@
+-- Per-user change version, bumped by every todo write together with the counters.
+-- Exposed as the ETag of the user's todo list and items, so conditional GETs are a primary-key read.
+
+ALTER TABLE todo_counters ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Delta sync: every todo carries the user's change version (todo_counters.version) of the write that last
+-- touched it, and deletions leave tombstones, so clients fetch only what changed after their cursor.
+-- Tombstones are purged after app.sync.tombstone-retention; older cursors are answered with a full resync.
+
+-- findResponsesByUserIdChangedAfter
+ALTER TABLE todos ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_todos_user_change_seq ON todos (user_id, change_seq);
+
+CREATE TABLE todo_tombstones (
+    todo_id     BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    change_seq  BIGINT NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (todo_id)
+);
+
+-- findTodoIdsByUserIdChangedAfter
+CREATE INDEX idx_todo_tombstones_user_change_seq ON todo_tombstones (user_id, change_seq);
+
+-- deleteByDeletedAtBefore (retention purge)
+CREATE INDEX idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
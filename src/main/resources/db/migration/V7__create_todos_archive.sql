@@ -0,0 +1,24 @@
+-- Archival: completed todos untouched for app.archive.min-age are moved from todos into todos_archive by
+-- TodoArchivalJob, keeping the live table and its indexes small. Archived todos are read only on request
+-- (includeArchived=true).
+
+-- findArchivable (done, updated_at < cutoff); the leading column still serves findByDone and countByDone
+DROP INDEX idx_todos_done;
+CREATE INDEX idx_todos_done_updated ON todos (done, updated_at);
+
+CREATE TABLE todos_archive (
+    id          BIGINT                         NOT NULL,
+    title       VARCHAR(255)                   NOT NULL,
+    description VARCHAR(1000),
+    done        BOOLEAN                        NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    user_id     BIGINT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    change_seq  BIGINT                         NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- findArchivedResponsesByUserId, ordered by (created_at, id) like the live list
+CREATE INDEX idx_todos_archive_user_created ON todos_archive (user_id, created_at, id);
@@ -0,0 +1,64 @@
+-- Schema of a todo shard: the todos of the users the hash ring assigns to it, their archive, and the users'
+-- counters, change versions and tombstones, which are written in the same shard transaction as the todos.
+-- Users and the id sequence (todos_seq) stay on the primary database. Everything is IF NOT EXISTS, so the
+-- primary database can itself be listed as a shard.
+
+CREATE TABLE IF NOT EXISTS todos (
+    id          BIGINT                         NOT NULL,
+    title       VARCHAR(255)                   NOT NULL,
+    description VARCHAR(1000),
+    done        BOOLEAN                        NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    user_id     BIGINT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    change_seq  BIGINT                         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- User lists and keyset pages ordered by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_todos_user_created ON todos (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_todos_user_done ON todos (user_id, done);
+-- Delta sync (change_seq > cursor)
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_seq ON todos (user_id, change_seq);
+-- By status and archival candidates (done, updated_at < cutoff)
+CREATE INDEX IF NOT EXISTS idx_todos_done_updated ON todos (done, updated_at);
+CREATE INDEX IF NOT EXISTS idx_todos_priority ON todos (priority);
+
+CREATE TABLE IF NOT EXISTS todos_archive (
+    id          BIGINT                         NOT NULL,
+    title       VARCHAR(255)                   NOT NULL,
+    description VARCHAR(1000),
+    done        BOOLEAN                        NOT NULL,
+    priority    ENUM ('HIGH', 'LOW', 'MEDIUM') NOT NULL,
+    user_id     BIGINT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    change_seq  BIGINT                         NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todos_archive_user_created ON todos_archive (user_id, created_at, id);
+
+CREATE TABLE IF NOT EXISTS todo_counters (
+    user_id         BIGINT NOT NULL,
+    total           BIGINT NOT NULL,
+    completed       BIGINT NOT NULL,
+    low_priority    BIGINT NOT NULL,
+    medium_priority BIGINT NOT NULL,
+    high_priority   BIGINT NOT NULL,
+    version         BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id     BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    change_seq  BIGINT NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (todo_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_change_seq ON todo_tombstones (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
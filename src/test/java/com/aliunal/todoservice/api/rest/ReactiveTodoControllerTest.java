@@ -0,0 +1,139 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoPage;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the reactive (WebFlux + R2DBC) todo API
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "spring.r2dbc.url=r2dbc:h2:mem:///todos-test?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@ActiveProfiles({"test", "reactive"})
+class ReactiveTodoControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("Todos are created, listed, paged, toggled and deleted over R2DBC with counters kept in step")
+    void todoLifecycle_ShouldMatchServletContract() {
+        String token = jwtTokenProvider.generateAccessToken(7501L, "ada@example.com", "ada");
+
+        TodoResponse created = webTestClient.post().uri("/api/v1/todos")
+                .headers(headers -> headers.setBearerAuth(token))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "Reactive todo", "priority", "HIGH"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches("Location", "/api/v1/todos/\\d+")
+                .expectBody(TodoResponse.class).returnResult().getResponseBody();
+        TodoResponse second = webTestClient.post().uri("/api/v1/todos")
+                .headers(headers -> headers.setBearerAuth(token))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("title", "Second reactive todo"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TodoResponse.class).returnResult().getResponseBody();
+        // Pooled-lo like the servlet stack: consecutive inserts come from one block of the sequence
+        assertThat(second.id()).isEqualTo(created.id() + 1);
+
+        String eTag = webTestClient.get().uri("/api/v1/todos")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TodoResponse.class).hasSize(2)
+                .returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri("/api/v1/todos/{id}", created.id())
+                .headers(headers -> headers.setBearerAuth(token))
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        TodoPage page = webTestClient.get().uri("/api/v1/todos?limit=1")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoPage.class).returnResult().getResponseBody();
+        assertThat(page.items()).singleElement().extracting(TodoResponse::id).isEqualTo(created.id());
+        assertThat(page.nextCursor()).isNotNull();
+
+        webTestClient.patch().uri("/api/v1/todos/{id}/toggle", created.id())
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient.patch().uri("/api/v1/todos/{id}/toggle", created.id())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.done").isEqualTo(true);
+
+        webTestClient.get().uri("/api/v1/todos/statistics/me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.completed").isEqualTo(1)
+                .jsonPath("$.byPriority.HIGH").isEqualTo(1);
+
+        String otherToken = jwtTokenProvider.generateAccessToken(7502L, "bob@example.com", "bob");
+        webTestClient.get().uri("/api/v1/todos/{id}", created.id())
+                .headers(headers -> headers.setBearerAuth(otherToken))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        TodoChanges snapshot = webTestClient.get().uri("/api/v1/todos/changes")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoChanges.class).returnResult().getResponseBody();
+        assertThat(snapshot.reset()).isTrue();
+        assertThat(snapshot.changed()).hasSize(2);
+
+        webTestClient.delete().uri("/api/v1/todos/{id}", created.id())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/v1/todos/changes?since={cursor}", snapshot.cursor())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.reset").isEqualTo(false)
+                .jsonPath("$.changed.length()").isEqualTo(0)
+                .jsonPath("$.deleted[0]").isEqualTo(created.id());
+        webTestClient.get().uri("/api/v1/todos/statistics/me")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.completed").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Invalid requests are rejected with the same error shape as the servlet stack")
+    void invalidRequest_ShouldReturn400() {
+        String token = jwtTokenProvider.generateAccessToken(7503L, "cy@example.com", "cy");
+
+        webTestClient.get().uri("/api/v1/todos?limit=0")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Bad Request");
+    }
+}
@@ -0,0 +1,149 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the bulk create / get / update / delete endpoints and their size limits
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoBulkTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Bulk create, get, update and delete work on the caller's todos as one unit each")
+    void bulk_ShouldCreateGetUpdateAndDelete() throws Exception {
+        Long userId = 8301L;
+        String bearer = bearer(userId, "bulk@example.com");
+        String body = mockMvc.perform(post("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", List.of(
+                                Map.of("title", "First"), Map.of("title", "Second"), Map.of("title", "Third"))))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> ids = objectMapper.readValue(body, new TypeReference<List<TodoResponse>>() { })
+                .stream().map(TodoResponse::id).toList();
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+
+        TodoResponse foreign = todoService.createForUser(new TodoRequest("Not yours", null, false, Priority.LOW), 8302L);
+        mockMvc.perform(get("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .param("ids", ids.get(0) + "," + ids.get(2) + "," + foreign.id() + ",999999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].title").value(containsInAnyOrder("First", "Third")));
+
+        mockMvc.perform(put("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", List.of(
+                                Map.of("id", ids.get(0), "changes", Map.of("title", "First, done", "done", true)),
+                                Map.of("id", ids.get(1), "changes", Map.of("title", "Second, urgent", "priority", "HIGH")))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].done").value(true))
+                .andExpect(jsonPath("$[1].priority").value("HIGH"));
+
+        // One foreign id fails the whole request; the caller's todo in it stays unchanged
+        mockMvc.perform(put("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", List.of(
+                                Map.of("id", ids.get(2), "changes", Map.of("title", "Changed")),
+                                Map.of("id", foreign.id(), "changes", Map.of("title", "Hijacked")))))))
+                .andExpect(status().isNotFound());
+        assertThat(todoService.findByIdForUser(ids.get(2), userId).title()).isEqualTo("Third");
+        assertThat(todoService.findByIdForUser(foreign.id(), 8302L).title()).isEqualTo("Not yours");
+
+        mockMvc.perform(delete("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("ids", List.of(ids.get(0), foreign.id())))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("ids", List.of(ids.get(0), ids.get(1))))))
+                .andExpect(status().isNoContent());
+        assertThat(todoService.findAllForUser(userId)).extracting(TodoResponse::id).containsExactly(ids.get(2));
+        assertThat(todoService.getStatisticsForUser(userId).total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Empty requests and requests over the bulk limit are rejected with 400 before any write")
+    void bulk_ShouldEnforceSizeLimits() throws Exception {
+        Long userId = 8303L;
+        String bearer = bearer(userId, "bulk-limits@example.com");
+        int tooMany = TodoService.MAX_BULK_SIZE + 1;
+        List<Long> ids = LongStream.rangeClosed(1, tooMany).boxed().toList();
+
+        mockMvc.perform(post("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", Collections.nCopies(tooMany, Map.of("title", "Too many"))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.todos").value("At most 500 todos per request"));
+        mockMvc.perform(post("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.todos").value("At least one todo is required"));
+        assertThat(todoService.getStatisticsForUser(userId).total()).isZero();
+
+        mockMvc.perform(get("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .param("ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 500 ids per request"));
+        mockMvc.perform(delete("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("ids", ids))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.ids").value("At most 500 ids per request"));
+        mockMvc.perform(put("/api/v1/todos/bulk").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("todos", ids.stream()
+                                .map(id -> Map.of("id", id, "changes", Map.of("title", "Too many")))
+                                .toList()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.todos").value("At most 500 todos per request"));
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private String bearer(Long userId, String email) {
+        return "Bearer " + jwtTokenProvider.generateAccessToken(userId, email, "bulk");
+    }
+}
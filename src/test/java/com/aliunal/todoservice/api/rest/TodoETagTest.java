@@ -0,0 +1,162 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.config.CacheConfig;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for conditional GETs on the todo list and item endpoints
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoETagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    @DisplayName("A missing or foreign todo is 404 even when If-None-Match matches the user's current ETag")
+    void conditionalGet_ShouldNotAnswer304ForTodosTheUserCannotSee() throws Exception {
+        Long ownerId = 7605L;
+        TodoResponse todo = todoService.createForUser(new TodoRequest("Private", null, false, Priority.LOW), ownerId);
+        Long otherId = 7606L;
+        todoService.createForUser(new TodoRequest("Own", null, false, Priority.LOW), otherId);
+        String otherBearer = "Bearer " + jwtTokenProvider.generateAccessToken(otherId, "prying@example.com", "prying");
+        String otherETag = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (String ifNoneMatch : new String[] {otherETag, "*"}) {
+            mockMvc.perform(get("/api/v1/todos/{id}", todo.id()).header(HttpHeaders.AUTHORIZATION, otherBearer)
+                            .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/v1/todos/{id}", Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, otherBearer)
+                            .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    @DisplayName("List and item answer If-None-Match with 304 until any of the user's todos is written")
+    void conditionalGet_ShouldReturn304UntilTheNextWrite() throws Exception {
+        Long userId = 7601L;
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(userId, "etag@example.com", "etag");
+        TodoResponse todo = todoService.createForUser(new TodoRequest("Versioned", null, false, Priority.LOW), userId);
+
+        String listETag = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(listETag).matches("W/\"7601-\\d+\"");
+
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, listETag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/todos/{id}", todo.id()).header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag.substring(2)))
+                .andExpect(status().isNotModified());
+
+        // A title-only change leaves the counts untouched but still has to bump the version
+        todoService.updateForUser(todo.id(), new TodoRequest("Renamed", null, null, null), userId);
+
+        String newETag = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(listETag);
+
+        String otherBearer = "Bearer " + jwtTokenProvider.generateAccessToken(7602L, "other@example.com", "other");
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, otherBearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("The list including the archive has its own ETag and is only served unpaged")
+    void includeArchived_ShouldHaveItsOwnETagAndRejectPaging() throws Exception {
+        Long userId = 7603L;
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(userId, "archive@example.com", "archive");
+        todoService.createForUser(new TodoRequest("Kept", null, true, Priority.LOW), userId);
+
+        String liveETag = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String archiveETag = mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, liveETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(archiveETag).matches("W/\"7603-\\d+-a\"");
+
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, archiveETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, archiveETag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true").param("limit", "10")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true").param("cursor", "abc")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, archiveETag))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("A cached list that trails the version is sent with its own ETag, so it is not revalidated as current")
+    void cachedList_ShouldCarryTheETagOfItsOwnVersion() throws Exception {
+        Long userId = 7604L;
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(userId, "stale@example.com", "stale");
+        TodoResponse todo = todoService.createForUser(new TodoRequest("Before", null, false, Priority.LOW), userId);
+        VersionedTodoList before = todoService.findVersionedListForUser(userId);
+
+        // A GET between the commit of a write and the eviction of the list still finds the old list
+        todoService.updateForUser(todo.id(), new TodoRequest("After", null, null, null), userId);
+        cacheManager.getCache(CacheConfig.TODO_LISTS).put(userId, before);
+
+        String staleETag = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Before"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(staleETag).isEqualTo("W/\"7604-" + before.version() + "\"");
+
+        cacheManager.getCache(CacheConfig.TODO_LISTS).evict(userId);
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("After"));
+    }
+}
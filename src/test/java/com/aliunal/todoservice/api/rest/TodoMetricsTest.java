@@ -0,0 +1,84 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.infrastructure.persistence.ConnectionPoolHealthIndicator;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the Prometheus scrape endpoint, admin-only actuator access and the readiness-backed health checks
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class TodoMetricsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ConnectionPoolHealthIndicator connectionPoolHealthIndicator;
+
+    @Test
+    @DisplayName("Prometheus exposes HTTP, repository, JWT, cache, pool and GC metrics after a request")
+    void prometheus_ShouldExposeMetricsFromEveryLayer() throws Exception {
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(8001L, "metrics@example.com", "metrics");
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        String admin = "Bearer " + jwtTokenProvider.generateAccessToken(8000L, "admin@example.com", "admin");
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("todo_repository_seconds_count{")))
+                .andExpect(content().string(containsString("auth_jwt_validation_seconds_count{")))
+                .andExpect(content().string(containsString("outcome=\"valid\"")))
+                .andExpect(content().string(containsString("cache=\"todoLists\"")))
+                .andExpect(content().string(containsString("cache=\"jwtAccessTokens\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("jvm_gc_")));
+    }
+
+    @Test
+    @DisplayName("On the application port, metrics, caches and Prometheus are closed to non-admin users")
+    void actuator_ShouldRequireAdminOnApplicationPort() throws Exception {
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(8003L, "metrics-user@example.com", "user");
+        for (String endpoint : new String[] {"/actuator/prometheus", "/actuator/metrics", "/actuator/caches"}) {
+            mockMvc.perform(get(endpoint).header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    @DisplayName("Readiness includes database and connection pool, and /health reports it")
+    void readiness_ShouldReflectDatabaseAndPool() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        Health pool = connectionPoolHealthIndicator.health();
+        assertThat(pool.getStatus()).isEqualTo(Status.UP);
+        assertThat(pool.getDetails()).containsKeys("active", "idle", "waiting");
+
+        mockMvc.perform(get("/api/v1/auth/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Authentication API is healthy"));
+    }
+}
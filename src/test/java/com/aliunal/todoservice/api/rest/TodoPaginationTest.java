@@ -0,0 +1,116 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCursor;
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoPage;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for keyset pagination of the authenticated todo listing
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoPaginationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Following nextCursor visits every todo once in creation order and ends with a null cursor")
+    void pages_ShouldCoverAllTodosInOrder() throws Exception {
+        Long userId = 8111L;
+        String bearer = bearer(userId, "pages@example.com");
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(todoService.createForUser(new TodoRequest("Page " + i, null, false, Priority.LOW), userId).id());
+        }
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/todos").param("limit", "2").header(HttpHeaders.AUTHORIZATION, bearer);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            TodoPage page = objectMapper.readValue(body, TodoPage.class);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            page.items().stream().map(TodoResponse::id).forEach(visited::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(visited).containsExactlyElementsOf(created);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Malformed cursors and out-of-range limits are answered with 400")
+    void invalidCursorOrLimit_ShouldReturn400() throws Exception {
+        String bearer = bearer(8112L, "bad-pages@example.com");
+
+        for (String cursor : new String[] {"garbage!", "MjAyNi0wMy0wMQ", "fHx8"}) {
+            mockMvc.perform(get("/api/v1/todos").param("cursor", cursor).header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        }
+        for (String limit : new String[] {"0", "201", "-1"}) {
+            mockMvc.perform(get("/api/v1/todos").param("limit", limit).header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    @DisplayName("A cursor positioned on another user's todo only pages through the caller's own todos")
+    void foreignCursor_ShouldNotExposeOtherUsersTodos() throws Exception {
+        TodoResponse foreign = todoService.createForUser(new TodoRequest("Foreign", null, false, Priority.LOW), 8113L);
+        TodoResponse own = todoService.createForUser(new TodoRequest("Own", null, false, Priority.LOW), 8114L);
+        String cursor = new TodoCursor(foreign.createdAt().minusSeconds(60), foreign.id() - 1).encode();
+
+        String body = mockMvc.perform(get("/api/v1/todos").param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(8114L, "own-pages@example.com")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readValue(body, TodoPage.class).items())
+                .extracting(TodoResponse::id)
+                .containsExactly(own.id());
+    }
+
+    private String bearer(Long userId, String email) {
+        return "Bearer " + jwtTokenProvider.generateAccessToken(userId, email, "pages");
+    }
+}
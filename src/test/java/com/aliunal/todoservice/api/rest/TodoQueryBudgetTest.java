@@ -0,0 +1,94 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.infrastructure.persistence.QueryStatisticsFilter;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoBulkCreateRequest;
+import com.aliunal.todoservice.shared.dto.TodoBulkDeleteRequest;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.aliunal.todoservice.infrastructure.persistence.QueryBudget.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per TodoController endpoint; a failure means an endpoint started issuing more statements
+ * (N+1 over the todos, or a redundant select before a write)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoQueryBudgetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Each todo endpoint stays within its statement budget, independent of the number of todos")
+    void endpoints_ShouldStayWithinQueryBudget() throws Exception {
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(8101L, "budget@example.com", "budget");
+        List<TodoRequest> seed = IntStream.range(0, 20)
+                .mapToObj(i -> new TodoRequest("Budget " + i, null, i % 2 == 0, Priority.MEDIUM))
+                .toList();
+
+        TodoResponse[] created = objectMapper.readValue(
+                perform(post("/api/v1/todos/bulk"), bearer, new TodoBulkCreateRequest(seed), 6)
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString(), TodoResponse[].class);
+        Long id = created[0].id();
+
+        // Budgets as issued today: one version lookup plus the query itself for reads; update, toggle and
+        // delete lock the owner's counters and select the todo before writing it, along with the counter and
+        // tombstone writes. The first
+        // full list misses the list cache, which loads the todos together with the version they were read at
+
+        perform(get("/api/v1/todos"), bearer, null, 3).andExpect(status().isOk());
+        perform(get("/api/v1/todos"), bearer, null, 1).andExpect(status().isOk());
+        perform(get("/api/v1/todos").param("completed", "true"), bearer, null, 2).andExpect(status().isOk());
+        perform(get("/api/v1/todos").param("limit", "5"), bearer, null, 2).andExpect(status().isOk());
+        perform(get("/api/v1/todos/{id}", id), bearer, null, 2).andExpect(status().isOk());
+        perform(get("/api/v1/todos/changes"), bearer, null, 2).andExpect(status().isOk());
+        perform(get("/api/v1/todos/statistics/me"), bearer, null, 1).andExpect(status().isOk());
+        perform(post("/api/v1/todos"), bearer, new TodoRequest("One more", null, false, Priority.LOW), 3)
+                .andExpect(status().isCreated());
+        perform(put("/api/v1/todos/{id}", id), bearer, new TodoRequest("Renamed", null, true, Priority.HIGH), 5)
+                .andExpect(status().isOk());
+        perform(patch("/api/v1/todos/{id}/toggle", id), bearer, null, 5).andExpect(status().isOk());
+        perform(delete("/api/v1/todos/{id}", id), bearer, null, 6).andExpect(status().isNoContent());
+        perform(delete("/api/v1/todos/bulk"), bearer, new TodoBulkDeleteRequest(List.of(created[1].id(), created[2].id())), 6)
+                .andExpect(status().isNoContent());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, String bearer, Object body, int maxQueries) throws Exception {
+        request.header(HttpHeaders.AUTHORIZATION, bearer);
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body));
+        }
+        return mockMvc.perform(request)
+                .andExpect(header().exists(QueryStatisticsFilter.QUERY_TIME_HEADER))
+                .andExpect(atMost(maxQueries));
+    }
+}
@@ -0,0 +1,92 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the NDJSON todo streams
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoStreamTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("The user stream writes one JSON object per line, only for the caller's todos, in creation order")
+    void stream_ShouldWriteOneTodoPerLine() throws Exception {
+        Long userId = 8201L;
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(todoService.createForUser(
+                    new TodoRequest("Streamed " + i, "Line\nbreak " + i, i == 1, Priority.HIGH), userId).id());
+        }
+        todoService.createForUser(new TodoRequest("Someone else's", null, false, Priority.LOW), 8202L);
+
+        String body = stream(get("/api/v1/todos/stream"), bearer(userId, "stream@example.com"));
+
+        assertThat(body).endsWith("\n");
+        List<TodoResponse> todos = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            todos.add(objectMapper.readValue(line, TodoResponse.class));
+        }
+        assertThat(todos).extracting(TodoResponse::id).containsExactlyElementsOf(created);
+        assertThat(todos.get(1).description()).isEqualTo("Line\nbreak 1");
+        assertThat(todos.get(1).done()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A user without todos gets an empty stream")
+    void stream_ShouldBeEmptyWithoutTodos() throws Exception {
+        assertThat(stream(get("/api/v1/todos/stream"), bearer(8203L, "empty-stream@example.com"))).isEmpty();
+    }
+
+    private String stream(MockHttpServletRequestBuilder request, String bearer) throws Exception {
+        MvcResult started = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String bearer(Long userId, String email) {
+        return "Bearer " + jwtTokenProvider.generateAccessToken(userId, email, "stream");
+    }
+}
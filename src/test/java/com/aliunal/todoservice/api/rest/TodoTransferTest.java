@@ -0,0 +1,166 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.domain.todo.service.TodoExportService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoImportReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for streaming import (NDJSON, CSV) and export (per user, admin-wide); the test profile uses import
+ * batches of 2 and export ranges of 7 ids
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoTransferTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TodoExportService todoExportService;
+
+    @Test
+    @DisplayName("Imports create valid rows in batches, report invalid ones by line, and round-trip through CSV export")
+    void import_ShouldCreateValidRowsAndReportInvalidOnes() throws Exception {
+        String bearer = bearer(8401L, "transfer@example.com");
+        String ndjson = """
+                {"title":"Write report","priority":"HIGH"}
+                {"title":"   "}
+
+                {"title":"Call back","description":"Before noon","done":true}
+                {"title":
+                {"title":"Water plants","priority":"LOW"}
+                """;
+        TodoImportReport report = importTodos(bearer, MediaType.APPLICATION_NDJSON_VALUE, ndjson);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.batches()).isEqualTo(2);
+        assertThat(report.errors()).extracting(TodoImportReport.Error::line).containsExactly(2L, 5L);
+        assertThat(report.errors().get(0).message()).isEqualTo("Title is required");
+
+        String csv = """
+                id,title,description,done,priority
+                1,"Pay rent, March",,false,MEDIUM
+                2,Unknown priority,,false,URGENT
+                3,Book flights,"Window seat",true,
+                """;
+        report = importTodos(bearer, "text/csv", csv);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors()).extracting(TodoImportReport.Error::line).containsExactly(3L);
+
+        String export = stream(get("/api/v1/todos/stream"), bearer, "text/csv");
+        List<String> lines = export.lines().toList();
+        assertThat(lines.get(0)).isEqualTo("id,title,description,done,priority,createdAt,updatedAt");
+        assertThat(lines).hasSize(6);
+        assertThat(export).contains("\"Pay rent, March\",,false,MEDIUM", "Call back,Before noon,true,MEDIUM", "Book flights");
+    }
+
+    @Test
+    @DisplayName("The admin export streams every user's todos with their owner in id order; it is closed to other users")
+    void adminExport_ShouldStreamAllTodosForAdminsOnly() throws Exception {
+        String owner = bearer(8402L, "owner@example.com");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append("{\"title\":\"Exported ").append(i).append("\"}\n");
+        }
+        importTodos(owner, MediaType.APPLICATION_NDJSON_VALUE, ndjson.toString());
+
+        mockMvc.perform(get("/api/v1/admin/todos/export").header(HttpHeaders.AUTHORIZATION, owner))
+                .andExpect(status().isForbidden());
+        // Emails are not verified on registration, so an admin's address alone grants nothing
+        mockMvc.perform(get("/api/v1/admin/todos/export")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(8403L, "admin@example.com")))
+                .andExpect(status().isForbidden());
+
+        String export = stream(get("/api/v1/admin/todos/export"), bearer(8000L, "admin@example.com"),
+                MediaType.APPLICATION_NDJSON_VALUE);
+        List<Long> ids = new ArrayList<>();
+        List<String> ownedTitles = new ArrayList<>();
+        for (String line : export.lines().toList()) {
+            JsonNode row = objectMapper.readTree(line);
+            ids.add(row.get("id").asLong());
+            if (row.get("userId").asLong() == 8402L) {
+                ownedTitles.add(row.get("title").asText());
+            }
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ownedTitles).hasSize(20).startsWith("Exported 0", "Exported 1").endsWith("Exported 19");
+    }
+
+    @Test
+    @DisplayName("A failing consumer stops the admin export and its read-ahead; later exports still run to the end")
+    void adminExport_ShouldStopReadAheadWhenTheConsumerFails() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            ndjson.append("{\"title\":\"Read ahead ").append(i).append("\"}\n");
+        }
+        importTodos(bearer(8404L, "reader@example.com"), MediaType.APPLICATION_NDJSON_VALUE, ndjson.toString());
+
+        AtomicInteger consumed = new AtomicInteger();
+        assertThatThrownBy(() -> todoExportService.exportAll(row -> {
+            consumed.incrementAndGet();
+            throw new IllegalStateException("Client went away");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("Client went away");
+        assertThat(consumed).hasValue(1);
+
+        for (int i = 0; i < 5; i++) {
+            List<Long> ids = new ArrayList<>();
+            todoExportService.exportAll(row -> ids.add(row.id()));
+            assertThat(ids).isSorted().hasSizeGreaterThanOrEqualTo(30);
+        }
+    }
+
+    private TodoImportReport importTodos(String bearer, String contentType, String body) throws Exception {
+        String report = mockMvc.perform(post("/api/v1/todos/import")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(report, TodoImportReport.class);
+    }
+
+    private String stream(MockHttpServletRequestBuilder request,
+                          String bearer, String accept) throws Exception {
+        MvcResult started = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer).accept(accept))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String bearer(Long userId, String email) {
+        return "Bearer " + jwtTokenProvider.generateAccessToken(userId, email, "transfer");
+    }
+}
@@ -0,0 +1,86 @@
+package com.aliunal.todoservice.api.rest;
+
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for content negotiation of the binary wire formats (CBOR, Smile)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoWireFormatTest {
+
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    @DisplayName("Todos are accepted and returned as CBOR or Smile per Content-Type and Accept, JSON stays the default")
+    void binaryFormats_ShouldRoundTripThroughTheApi() throws Exception {
+        String bearer = "Bearer " + jwtTokenProvider.generateAccessToken(7901L, "cbor@example.com", "cbor");
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        ObjectMapper smile = smileConverter.getObjectMapper();
+
+        byte[] created = mockMvc.perform(post("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_CBOR).accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new TodoRequest("Binary", "sent as CBOR", false, Priority.HIGH))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        TodoResponse todo = cbor.readValue(created, TodoResponse.class);
+        assertThat(todo.title()).isEqualTo("Binary");
+        assertThat(todo.priority()).isEqualTo(Priority.HIGH);
+
+        byte[] list = mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.AUTHORIZATION, bearer).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                // Equivalent to the JSON list but not byte-identical, so the validator must be weak
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+        TodoResponse[] todos = smile.readValue(list, TodoResponse[].class);
+        // Dates travel as numeric timestamps; the stored copy is rounded to the column's microseconds
+        assertThat(todos).singleElement().usingRecursiveComparison().ignoringFields("createdAt", "updatedAt").isEqualTo(todo);
+        assertThat(todos[0].createdAt()).isCloseTo(todo.createdAt(), within(1, ChronoUnit.MICROS));
+
+        mockMvc.perform(get("/api/v1/todos/{id}", todo.id()).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Binary"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.aliunal.todoservice.domain.todo.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the opaque keyset cursor handed out by paged todo listings
+ */
+class TodoCursorTest {
+
+    @Test
+    @DisplayName("An encoded cursor is URL-safe and decodes to the same position")
+    void encode_ShouldRoundTrip() {
+        TodoCursor cursor = new TodoCursor(Instant.parse("2026-03-01T10:15:30.123456Z"), 4711L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(TodoCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Malformed and tampered cursors are rejected as invalid arguments")
+    void decode_ShouldRejectMalformedCursors() {
+        String valid = new TodoCursor(Instant.parse("2026-03-01T10:15:30Z"), 4711L).encode();
+
+        for (String cursor : new String[] {
+                "not base64!",
+                valid.substring(0, valid.length() / 2),
+                valid + "x",
+                encode("2026-03-01T10:15:30Z"),
+                encode("2026-03-01T10:15:30Z|"),
+                encode("yesterday|4711"),
+                encode("2026-03-01T10:15:30Z|4711; drop table todos"),
+                encode("|4711")}) {
+            assertThatThrownBy(() -> TodoCursor.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.infrastructure.scheduling.TodoArchivalJob;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for moving old completed todos into the archive
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoArchiverTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoExportService todoExportService;
+
+    @Autowired
+    TodoArchivalJob archivalJob;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Old completed todos leave the live list, counters and sync; they are read back only on request")
+    void run_ShouldArchiveOldCompletedTodos() {
+        Long userId = 8501L;
+        TodoResponse oldDone = todoService.createForUser(new TodoRequest("Old done", null, true, Priority.LOW), userId);
+        TodoResponse oldOpen = todoService.createForUser(new TodoRequest("Old open", null, false, Priority.HIGH), userId);
+        TodoResponse recentDone = todoService.createForUser(new TodoRequest("Recent done", null, true, Priority.HIGH), userId);
+        backdate(List.of(oldDone.id(), oldOpen.id()));
+        String cursor = todoService.findChangesForUser(userId, null).cursor();
+
+        assertThat(archivalJob.run()).isGreaterThanOrEqualTo(1);
+
+        assertThat(todoService.findAllForUser(userId)).extracting(TodoResponse::id)
+                .containsExactly(oldOpen.id(), recentDone.id());
+        assertThat(todoService.findAllForUserIncludingArchived(userId, null)).extracting(TodoResponse::id)
+                .containsExactly(oldDone.id(), oldOpen.id(), recentDone.id());
+        assertThat(todoService.findAllForUserIncludingArchived(userId, true)).extracting(TodoResponse::title)
+                .containsExactly("Old done", "Recent done");
+        assertThat(todoService.findAllForUserIncludingArchived(userId, false)).extracting(TodoResponse::id)
+                .containsExactly(oldOpen.id());
+        assertThat(todoRepository.countForUser(userId)).isEqualTo(new TodoCounts(2, 1, 0, 0, 2));
+
+        TodoChanges changes = todoService.findChangesForUser(userId, cursor);
+        assertThat(changes.deleted()).containsExactly(oldDone.id());
+    }
+
+    @Test
+    @DisplayName("A rerun finds nothing left to archive")
+    void run_ShouldBeResumable() {
+        Long userId = 8502L;
+        TodoResponse todo = todoService.createForUser(new TodoRequest("Done long ago", null, true, Priority.MEDIUM), userId);
+        backdate(List.of(todo.id()));
+
+        archivalJob.run();
+
+        assertThat(archivalJob.run()).isZero();
+        assertThat(todoService.findAllForUserIncludingArchived(userId, null)).extracting(TodoResponse::id)
+                .containsExactly(todo.id());
+    }
+
+    @Test
+    @DisplayName("The admin export keeps archived todos, marked as archived, in id order with the live ones")
+    void exportAll_ShouldIncludeArchivedTodos() {
+        Long userId = 8503L;
+        TodoResponse archived = todoService.createForUser(new TodoRequest("Archived", null, true, Priority.LOW), userId);
+        TodoResponse live = todoService.createForUser(new TodoRequest("Live", null, false, Priority.HIGH), userId);
+        backdate(List.of(archived.id()));
+        archivalJob.run();
+
+        List<TodoExportRow> rows = new ArrayList<>();
+        todoExportService.exportAll(row -> {
+            if (userId.equals(row.userId())) {
+                rows.add(row);
+            }
+        });
+
+        assertThat(rows).extracting(TodoExportRow::id).containsExactly(archived.id(), live.id());
+        assertThat(rows).extracting(TodoExportRow::archived).containsExactly(true, false);
+    }
+
+    private void backdate(List<Long> ids) {
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(365, ChronoUnit.DAYS));
+        ids.forEach(id -> jdbcTemplate.update("update todos set updated_at = ? where id = ?", longAgo, id));
+    }
+}
@@ -0,0 +1,93 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoSyncCursor;
+import com.aliunal.todoservice.infrastructure.scheduling.TodoTombstonePurgeJob;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for delta sync: change sequence, tombstones and cursor expiry
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoChangesTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoTombstonePurgeJob purgeJob;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("A sync returns only todos written and IDs deleted after the cursor")
+    void changesSinceCursor_ShouldContainOnlyLaterWrites() {
+        Long userId = 7701L;
+        TodoResponse untouched = todoService.createForUser(new TodoRequest("Untouched", null, false, Priority.LOW), userId);
+        TodoResponse renamed = todoService.createForUser(new TodoRequest("Renamed later", null, false, Priority.LOW), userId);
+        TodoResponse deleted = todoService.createForUser(new TodoRequest("Deleted later", null, false, Priority.HIGH), userId);
+
+        TodoChanges initial = todoService.findChangesForUser(userId, null);
+        assertThat(initial.reset()).isTrue();
+        assertThat(initial.changed()).extracting(TodoResponse::id)
+                .containsExactly(untouched.id(), renamed.id(), deleted.id());
+
+        todoService.updateForUser(renamed.id(), new TodoRequest("Renamed", null, null, null), userId);
+        todoService.deleteForUser(deleted.id(), userId);
+        TodoResponse created = todoService.createAllForUser(
+                List.of(new TodoRequest("Created later", null, true, Priority.MEDIUM)), userId).get(0);
+        todoService.createForUser(new TodoRequest("Other user's", null, false, Priority.LOW), 7702L);
+
+        TodoChanges delta = todoService.findChangesForUser(userId, initial.cursor());
+        assertThat(delta.reset()).isFalse();
+        assertThat(delta.changed()).extracting(TodoResponse::id).containsExactly(renamed.id(), created.id());
+        assertThat(delta.changed().get(0).title()).isEqualTo("Renamed");
+        assertThat(delta.deleted()).containsExactly(deleted.id());
+
+        TodoChanges idle = todoService.findChangesForUser(userId, delta.cursor());
+        assertThat(idle.changed()).isEmpty();
+        assertThat(idle.deleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Cursors older than the tombstone retention get a full resync, and old tombstones are purged")
+    void expiredCursor_ShouldResetAndTombstonesShouldBePurged() {
+        Long userId = 7703L;
+        TodoResponse kept = todoService.createForUser(new TodoRequest("Kept", null, false, Priority.LOW), userId);
+        TodoResponse gone = todoService.createForUser(new TodoRequest("Gone", null, false, Priority.LOW), userId);
+        todoService.deleteForUser(gone.id(), userId);
+
+        String expired = new TodoSyncCursor(0, Instant.now().minus(Duration.ofDays(31))).encode();
+        TodoChanges changes = todoService.findChangesForUser(userId, expired);
+        assertThat(changes.reset()).isTrue();
+        assertThat(changes.changed()).extracting(TodoResponse::id).containsExactly(kept.id());
+        assertThat(changes.deleted()).isEmpty();
+
+        jdbcTemplate.update("update todo_tombstones set deleted_at = ? where todo_id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(31))), gone.id());
+        assertThat(purgeJob.run()).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_tombstones where todo_id = ?",
+                Long.class, gone.id())).isZero();
+
+        assertThatThrownBy(() -> todoService.findChangesForUser(userId, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.aliunal.todoservice.domain.todo.service;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoRepository;
+import com.aliunal.todoservice.infrastructure.scheduling.TodoCounterReconciliationJob;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.dto.TodoStatistics;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the incrementally maintained per-user todo counters
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoCounterTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoCounterReconciliationJob reconciliationJob;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Every write keeps the user's counters equal to the todos table")
+    void writes_ShouldKeepCountersInSync() {
+        Long userId = 7001L;
+
+        TodoResponse first = todoService.createForUser(new TodoRequest("First", null, false, Priority.HIGH), userId);
+        TodoResponse second = todoService.createForUser(new TodoRequest("Second", null, true, Priority.LOW), userId);
+        List<TodoResponse> bulk = todoService.createAllForUser(List.of(
+                new TodoRequest("Bulk 1", null, false, Priority.MEDIUM),
+                new TodoRequest("Bulk 2", null, false, Priority.MEDIUM)), userId);
+        todoService.toggleCompletion(first.id());
+        todoService.updateForUser(second.id(), new TodoRequest("Second", null, false, Priority.HIGH), userId);
+        todoService.deleteForUser(bulk.get(0).id(), userId);
+        todoService.deleteAllForUser(List.of(bulk.get(1).id()), userId);
+
+        TodoStatistics stats = todoService.getStatisticsForUser(userId);
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.completed()).isEqualTo(1);
+        assertThat(stats.pending()).isEqualTo(1);
+        assertThat(stats.byPriority()).isEqualTo(Map.of(Priority.LOW, 0L, Priority.MEDIUM, 0L, Priority.HIGH, 2L));
+        assertThat(todoRepository.countForUser(userId)).isEqualTo(new TodoCounts(2, 1, 0, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Concurrent writes to the same todo are counted once each, by ID and per user alike")
+    void concurrentToggles_ShouldNotDriftCounters() throws Exception {
+        Long userId = 7004L;
+        TodoResponse todo = todoService.createForUser(new TodoRequest("Contended", null, false, Priority.MEDIUM), userId);
+
+        int writers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                boolean byId = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < 10; n++) {
+                        if (byId) {
+                            todoService.toggleCompletion(todo.id());
+                        } else {
+                            boolean done = todoService.findByIdForUser(todo.id(), userId).done();
+                            todoService.updateForUser(todo.id(), new TodoRequest("Contended", null, !done, null), userId);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(todoRepository.countForUser(userId).total()).isEqualTo(1);
+        assertThat(todoService.getStatisticsForUser(userId))
+                .isEqualTo(TodoStatistics.from(todoRepository.countForUser(userId)));
+    }
+
+    @Test
+    @DisplayName("Users without todos get empty statistics")
+    void unknownUser_ShouldHaveZeroStatistics() {
+        TodoStatistics stats = todoService.getStatisticsForUser(7002L);
+
+        assertThat(stats.total()).isZero();
+        assertThat(stats.byPriority()).containsEntry(Priority.HIGH, 0L);
+    }
+
+    @Test
+    @DisplayName("Reconciliation reports and corrects drifted counters")
+    void reconciliation_ShouldCorrectDrift() {
+        Long userId = 7003L;
+        todoService.createForUser(new TodoRequest("Tracked", null, true, Priority.LOW), userId);
+        jdbcTemplate.update("update todo_counters set total = total + 5, completed = 0 where user_id = ?", userId);
+
+        List<TodoCounterReconciler.Drift> corrected = reconciliationJob.run();
+
+        assertThat(corrected)
+                .filteredOn(drift -> drift.userId().equals(userId))
+                .singleElement()
+                .satisfies(drift -> assertThat(drift.difference()).isEqualTo(new TodoCounts(5, -1, 0, 0, 0)));
+        assertThat(todoService.getStatisticsForUser(userId)).isEqualTo(TodoStatistics.from(new TodoCounts(1, 1, 1, 0, 0)));
+        assertThat(reconciliationJob.run()).noneMatch(drift -> drift.userId().equals(userId));
+    }
+}
@@ -0,0 +1,78 @@
+package com.aliunal.todoservice.infrastructure.cache;
+
+import com.aliunal.todoservice.domain.todo.repository.VersionedTodoList;
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.shared.config.CacheConfig;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the per-user todo list cache and its invalidation by todo writes
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoListCacheTest {
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Lists are served from the cache until one of the user's todos changes")
+    void writes_ShouldEvictOnlyTheChangedUsersList() {
+        Long userId = 9001L;
+        Long otherUserId = 9002L;
+        TodoResponse first = todoService.createForUser(new TodoRequest("Cached", null, false, Priority.LOW), userId);
+        todoService.findVersionedListForUser(otherUserId);
+
+        VersionedTodoList loaded = todoService.findVersionedListForUser(userId);
+        assertThat(todoService.findVersionedListForUser(userId)).isSameAs(loaded);
+        assertThat(cachedList(userId)).isSameAs(loaded);
+        assertThat(loaded.version()).isEqualTo(todoService.getVersionForUser(userId));
+
+        todoService.toggleCompletion(first.id());
+        assertThat(cachedList(userId)).isNull();
+        assertThat(cachedList(otherUserId)).isNotNull();
+        VersionedTodoList toggled = todoService.findVersionedListForUser(userId);
+        assertThat(toggled.todos()).singleElement().extracting(TodoResponse::done).isEqualTo(true);
+        assertThat(toggled.version()).isGreaterThan(loaded.version());
+
+        todoService.createForUser(new TodoRequest("Second", null, false, Priority.HIGH), userId);
+        assertThat(todoService.findVersionedListForUser(userId).todos()).hasSize(2);
+
+        todoService.deleteForUser(first.id(), userId);
+        assertThat(todoService.findVersionedListForUser(userId).todos()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Hits and misses are published as cache metrics")
+    void cache_ShouldPublishMetrics() {
+        todoService.findVersionedListForUser(9003L);
+        todoService.findVersionedListForUser(9003L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TODO_LISTS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TODO_LISTS).tag("result", "miss")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.TODO_LISTS).functionCounter()).isNotNull();
+    }
+
+    private VersionedTodoList cachedList(Long userId) {
+        return cacheManager.getCache(CacheConfig.TODO_LISTS).get(userId, VersionedTodoList.class);
+    }
+}
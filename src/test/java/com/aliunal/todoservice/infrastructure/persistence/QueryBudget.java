@@ -0,0 +1,25 @@
+package com.aliunal.todoservice.infrastructure.persistence;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matcher asserting how many JDBC statements a request may issue, read from the X-Db-Query-Count header
+ * (needs app.persistence.query-headers, on in the test profile). Catches N+1 and redundant-select regressions.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int maxQueries) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryStatisticsFilter.QUERY_COUNT_HEADER);
+            assertThat(header).as("%s header", QueryStatisticsFilter.QUERY_COUNT_HEADER).isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("JDBC statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(maxQueries);
+        };
+    }
+}
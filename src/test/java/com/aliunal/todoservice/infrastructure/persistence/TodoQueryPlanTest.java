@@ -0,0 +1,163 @@
+package com.aliunal.todoservice.infrastructure.persistence;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.infrastructure.persistence.jpa.repository.JpaTodoRepository;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression tests for JpaTodoRepository
+ * Captures the SQL Hibernate generates for each repository query and runs EXPLAIN on it,
+ * failing if H2 would answer it with a full table scan
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.aliunal.todoservice.infrastructure.persistence.TodoQueryPlanTest$CapturingInspector")
+@ActiveProfiles("test")
+class TodoQueryPlanTest {
+
+    @Autowired
+    JpaTodoRepository jpaTodoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedAndReset() {
+        if (jpaTodoRepository.count() == 0) {
+            for (long userId = 1; userId <= 20; userId++) {
+                for (int i = 0; i < 10; i++) {
+                    Todo todo = new Todo("Todo " + i, "Seed data", Priority.values()[i % 3], userId);
+                    if (i % 2 == 0) {
+                        todo.markAsDone();
+                    }
+                    jpaTodoRepository.save(todo);
+                }
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("findByUserId uses an index")
+    void findByUserId_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByUserId(1L));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsesByUserId(1L));
+    }
+
+    @Test
+    @DisplayName("Keyset pages use an index")
+    void keysetPages_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByUserIdOrderByCreatedAtAscIdAsc(1L, Limit.of(10)));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsePageByUserId(1L, Limit.of(10)));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsePageByUserIdAfter(1L, Instant.now(), 1L, Limit.of(10)));
+    }
+
+    @Test
+    @DisplayName("findByUserIdAndDone uses an index")
+    void findByUserIdAndDone_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByUserIdAndDone(1L, true));
+    }
+
+    @Test
+    @DisplayName("findByIdAndUserId uses the primary key")
+    void findByIdAndUserId_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByIdAndUserId(1L, 1L));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponseByIdAndUserId(1L, 1L));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsesByIdInAndUserId(List.of(1L, 2L), 1L));
+    }
+
+    @Test
+    @DisplayName("findByDone, countByDone and findArchivable use an index")
+    void findByDone_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByDone(true));
+        assertIndexedPlan(() -> jpaTodoRepository.countByDone(true));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsesByDone(true));
+        assertIndexedPlan(() -> jpaTodoRepository.findArchivable(Instant.now(), Limit.of(10)));
+    }
+
+    @Test
+    @DisplayName("findByPriority uses an index")
+    void findByPriority_ShouldNotScanTable() {
+        assertIndexedPlan(() -> jpaTodoRepository.findByPriority(Priority.HIGH));
+        assertIndexedPlan(() -> jpaTodoRepository.findResponsesByPriority(Priority.HIGH));
+    }
+
+    private void assertIndexedPlan(Runnable repositoryCall) {
+        CapturingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).as("captured SELECT statements").isNotEmpty();
+
+        for (String sql : selects) {
+            String plan = explain(sql);
+            assertThat(plan)
+                    .as("query plan for: %s", sql)
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindSampleParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Bind a representative value of the right type to every parameter so H2 can plan the query
+     */
+    private void bindSampleParameters(PreparedStatement statement) throws java.sql.SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.BOOLEAN -> statement.setBoolean(i, true);
+                case Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP -> statement.setObject(i, OffsetDateTime.now());
+                case Types.VARCHAR, Types.CHAR, Types.OTHER -> statement.setString(i, Priority.MEDIUM.name());
+                default -> statement.setLong(i, 1L);
+            }
+        }
+    }
+
+    /**
+     * Hibernate statement inspector that records every SQL statement it sees
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
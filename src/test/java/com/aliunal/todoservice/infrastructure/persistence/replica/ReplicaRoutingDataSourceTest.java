@@ -0,0 +1,127 @@
+package com.aliunal.todoservice.infrastructure.persistence.replica;
+
+import com.aliunal.todoservice.infrastructure.security.JwtPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for read/write splitting over three separate in-memory H2 databases (primary and two replicas),
+ * each knowing its own name
+ */
+class ReplicaRoutingDataSourceTest {
+
+    HikariDataSource primary;
+    HikariDataSource replicaA;
+    HikariDataSource replicaB;
+    ReplicaRoutingDataSource routing;
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(10));
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, tracker,
+                "SELECT lag_seconds FROM replica_status", Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(tracker);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions rotate over the replicas, read-write transactions use the primary")
+    void readOnlyTransactions_ShouldRotateOverReplicas() {
+        assertThat(List.of(readNode(), readNode(), readNode(), readNode()))
+                .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        String written = readWrite.execute(status -> node());
+        assertThat(written).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Replicas behind the allowed lag leave the rotation until they catch up; none left means primary")
+    void laggingReplicas_ShouldFallBackToPrimary() {
+        new JdbcTemplate(replicaA).update("UPDATE replica_status SET lag_seconds = 30");
+        routing.checkReplicas();
+        assertThat(List.of(readNode(), readNode())).containsOnly("replica-b");
+
+        new JdbcTemplate(replicaB).update("UPDATE replica_status SET lag_seconds = 30");
+        routing.checkReplicas();
+        assertThat(readNode()).isEqualTo("primary");
+
+        new JdbcTemplate(replicaA).update("UPDATE replica_status SET lag_seconds = 0");
+        routing.checkReplicas();
+        assertThat(readNode()).isEqualTo("replica-a");
+    }
+
+    @Test
+    @DisplayName("After a user's own write their reads stay on the primary, other users keep reading replicas")
+    void userWrites_ShouldPinTheirReadsToPrimary() {
+        authenticate(8201L);
+        assertThat(readNode()).startsWith("replica");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertThat(List.of(readNode(), readNode())).containsOnly("primary");
+
+        authenticate(8202L);
+        assertThat(readNode()).startsWith("replica");
+    }
+
+    private String readNode() {
+        String node = readOnly.execute(status -> node());
+        return node;
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void authenticate(Long userId) {
+        JwtPrincipal principal = new JwtPrincipal(userId, "replica@example.com", "replica", Instant.now().plusSeconds(60));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name);
+        dataSource.setPoolName(name);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_status (lag_seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO replica_status VALUES (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,252 @@
+package com.aliunal.todoservice.infrastructure.persistence.shard;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import com.aliunal.todoservice.domain.todo.entity.TodoTombstone;
+import com.aliunal.todoservice.domain.todo.repository.TodoCounts;
+import com.aliunal.todoservice.domain.todo.repository.TodoExportRow;
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.search.LuceneTodoSearchIndex;
+import com.aliunal.todoservice.shared.dto.TodoChanges;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for todo sharding over separate in-memory H2 databases; the first shard doubles as the primary
+ * database that hands out ids and runs the surrounding transactions
+ */
+class ShardedTodoRepositoryAdapterTest {
+
+    static final List<Long> USERS = LongStream.rangeClosed(8301, 8340).boxed().toList();
+
+    TodoShard shardA;
+    TodoShard shardB;
+    TodoShard shardC;
+    HikariDataSource idSource;
+    ShardedTodoRepositoryAdapter repository;
+    ShardedTodoCounterRepositoryAdapter counters;
+    ShardedTodoTombstoneRepositoryAdapter tombstones;
+
+    @BeforeEach
+    void setUp() {
+        shardA = shard("a");
+        shardB = shard("b");
+        idSource = database("a");
+        // The shard schema has no id sequence; on the primary it comes from db/migration
+        new JdbcTemplate(idSource).execute("create sequence if not exists todos_seq start with 1 increment by "
+                + Todo.ID_ALLOCATION_SIZE);
+        repository = new ShardedTodoRepositoryAdapter(List.of(shardA, shardB), idSource, 64);
+        counters = new ShardedTodoCounterRepositoryAdapter(repository);
+        tombstones = new ShardedTodoTombstoneRepositoryAdapter(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+        idSource.close();
+    }
+
+    @Test
+    @DisplayName("Each user's todos live on the shard the ring assigns; global queries gather from all shards")
+    void todos_ShouldBeRoutedByUserAndGathered() {
+        List<Todo> saved = saveTodosForAllUsers();
+
+        assertThat(saved).extracting(Todo::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertShardsHoldOnlyTheirOwnUsers(List.of(shardA, shardB));
+        assertThat(shardA.count("", Map.of())).isPositive();
+        assertThat(shardB.count("", Map.of())).isPositive();
+
+        assertThat(repository.findAll()).hasSize(USERS.size() * 2);
+        assertThat(repository.count()).isEqualTo(USERS.size() * 2);
+        assertThat(repository.countByDone(true)).isEqualTo(USERS.size());
+        assertThat(repository.findByPriority(Priority.HIGH)).hasSize(USERS.size());
+        assertThat(repository.findByUserId(8301L)).extracting(Todo::getTitle).containsExactlyInAnyOrder("first", "second");
+        assertThat(repository.countForUser(8302L).total()).isEqualTo(2);
+        try (var responses = repository.streamResponses()) {
+            assertThat(responses.toList()).extracting(response -> response.id()).isSorted().hasSize(USERS.size() * 2);
+        }
+    }
+
+    @Test
+    @DisplayName("The export reads archived todos from every shard, and the max id covers them")
+    void export_ShouldReadArchivesFromEveryShard() {
+        List<Todo> saved = saveTodosForAllUsers();
+        List<Todo> done = saved.stream().filter(Todo::isDone).toList();
+        repository.archiveAll(done, Instant.now());
+        long maxId = saved.stream().mapToLong(Todo::getId).max().orElseThrow();
+        Todo lastOpen = saved.get(saved.size() - 1);
+        repository.deleteById(lastOpen.getId());
+
+        assertThat(repository.findMaxId()).isEqualTo(done.get(done.size() - 1).getId()).isLessThan(maxId);
+        try (var live = repository.streamExportRows(0, maxId + 1);
+             var archived = repository.streamArchivedExportRows(0, maxId + 1)) {
+            assertThat(live.toList()).extracting(TodoExportRow::archived).hasSize(USERS.size() - 1).containsOnly(false);
+            assertThat(archived.toList()).extracting(TodoExportRow::id).isSorted()
+                    .containsExactlyInAnyOrderElementsOf(done.stream().map(Todo::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Counters, version and tombstones sit on the user's shard and commit or roll back with the todo writes")
+    void bookkeeping_ShouldShareTheShardTransactionOfTheTodos() {
+        Long userId = 8301L;
+        TodoShard owner = ring(List.of(shardA, shardB)).locate(userId);
+        TransactionTemplate surrounding = new TransactionTemplate(new DataSourceTransactionManager(idSource));
+
+        Todo todo = surrounding.execute(status -> {
+            Todo created = new Todo("counted", null, Priority.HIGH, userId);
+            created.recordChange(counters.add(userId, TodoCounts.of(created)));
+            return repository.save(created);
+        });
+        assertThat(owner.counters("", Map.of())).containsEntry(userId, new TodoCounts(1, 0, 0, 0, 1));
+        assertThat(counters.findVersionByUserId(userId)).isEqualTo(1);
+
+        assertThatThrownBy(() -> surrounding.executeWithoutResult(status -> {
+            deleteWithTombstone(todo);
+            throw new IllegalStateException("Failed before commit");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(repository.findById(todo.getId())).isPresent();
+        assertThat(counters.findByUserId(userId)).contains(new TodoCounts(1, 0, 0, 0, 1));
+        assertThat(counters.findVersionByUserId(userId)).isEqualTo(1);
+        assertThat(tombstones.findTodoIdsByUserIdChangedAfter(userId, 0)).isEmpty();
+
+        surrounding.executeWithoutResult(status -> deleteWithTombstone(todo));
+        assertThat(repository.findById(todo.getId())).isEmpty();
+        assertThat(counters.findByUserId(userId)).contains(TodoCounts.ZERO);
+        assertThat(tombstones.findTodoIdsByUserIdChangedAfter(userId, 1)).containsExactly(todo.getId());
+        assertThat(owner.tombstones("", Map.of())).extracting(TodoTombstone::getId).containsExactly(todo.getId());
+    }
+
+    @Test
+    @DisplayName("Updates and toggles through TodoService are stamped on the shard row and show up in delta sync")
+    void todoService_ShouldStampShardedUpdatesForDeltaSync() throws Exception {
+        Long userId = 8302L;
+        TransactionTemplate surrounding = new TransactionTemplate(new DataSourceTransactionManager(idSource));
+        try (LuceneTodoSearchIndex searchIndex = new LuceneTodoSearchIndex("")) {
+            TodoService todoService = new TodoService(repository, counters, tombstones, searchIndex, event -> {
+            }, Duration.ofDays(30));
+            TodoResponse todo = surrounding.execute(status ->
+                    todoService.createForUser(new TodoRequest("Synced", null, false, Priority.LOW), userId));
+            String cursor = todoService.findChangesForUser(userId, null).cursor();
+
+            surrounding.executeWithoutResult(status ->
+                    todoService.update(todo.id(), new TodoRequest("Renamed", null, null, null)));
+            TodoChanges renamed = todoService.findChangesForUser(userId, cursor);
+            assertThat(renamed.changed()).extracting(TodoResponse::title).containsExactly("Renamed");
+
+            surrounding.executeWithoutResult(status -> todoService.toggleCompletion(todo.id()));
+            TodoChanges toggled = todoService.findChangesForUser(userId, renamed.cursor());
+            assertThat(toggled.changed()).extracting(TodoResponse::done).containsExactly(true);
+            assertThat(counters.findByUserId(userId)).contains(new TodoCounts(1, 1, 1, 0, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Adding a node to the ring only moves keys to the new node, about 1/N of them")
+    void ring_ShouldMoveOnlyKeysTakenOverByNewNode() {
+        ConsistentHashRing<String> two = new ConsistentHashRing<>(Map.of("shard-a", "a", "shard-b", "b"), 128);
+        Map<String, String> threeNodes = new LinkedHashMap<>(Map.of("shard-a", "a", "shard-b", "b"));
+        threeNodes.put("shard-c", "c");
+        ConsistentHashRing<String> three = new ConsistentHashRing<>(threeNodes, 128);
+
+        List<Long> moved = new ArrayList<>();
+        for (long key = 1; key <= 10_000; key++) {
+            if (!two.locate(key).equals(three.locate(key))) {
+                assertThat(three.locate(key)).isEqualTo("c");
+                moved.add(key);
+            }
+        }
+        assertThat(moved.size()).isBetween(2_000, 4_700);
+    }
+
+    @Test
+    @DisplayName("A shard added online takes over its users; their todos move and stay readable throughout")
+    void addShard_ShouldRebalanceOnline() {
+        List<Todo> saved = saveTodosForAllUsers();
+        USERS.forEach(userId -> counters.add(userId, new TodoCounts(2, 1, 1, 0, 1)));
+        tombstones.saveAll(8303L, List.of(-1L), 1);
+        shardC = shard("c");
+
+        var rebalancing = repository.addShard(shardC);
+        assertThat(repository.count()).isEqualTo(USERS.size() * 2);
+        assertThat(repository.findByUserId(8303L)).hasSize(2);
+        assertThat(repository.findById(saved.get(0).getId())).isPresent();
+        rebalancing.join();
+
+        assertShardsHoldOnlyTheirOwnUsers(List.of(shardA, shardB, shardC));
+        assertThat(shardC.count("", Map.of())).isPositive();
+        assertThat(repository.count()).isEqualTo(USERS.size() * 2);
+        USERS.forEach(userId -> assertThat(repository.findByUserId(userId)).hasSize(2));
+        // Counters, versions and tombstones moved with the todos
+        USERS.forEach(userId -> assertThat(counters.findByUserId(userId)).contains(new TodoCounts(2, 1, 1, 0, 1)));
+        USERS.forEach(userId -> assertThat(counters.findVersionByUserId(userId)).isEqualTo(1));
+        assertThat(tombstones.findTodoIdsByUserIdChangedAfter(8303L, 0)).containsExactly(-1L);
+        assertThat(counters.sumAll().total()).isEqualTo(USERS.size() * 2);
+
+        // By id, wherever the owner lives now
+        saved.forEach(todo -> assertThat(repository.findResponseById(todo.getId())).isPresent());
+        repository.deleteById(saved.get(0).getId());
+        assertThat(repository.findById(saved.get(0).getId())).isEmpty();
+        assertThat(repository.count()).isEqualTo(USERS.size() * 2 - 1);
+    }
+
+    private List<Todo> saveTodosForAllUsers() {
+        List<Todo> todos = new ArrayList<>();
+        for (Long userId : USERS) {
+            Todo first = new Todo("first", null, Priority.HIGH, userId);
+            first.markAsDone();
+            todos.add(first);
+            todos.add(new Todo("second", "details", Priority.LOW, userId));
+        }
+        return repository.saveAll(todos);
+    }
+
+    private void deleteWithTombstone(Todo todo) {
+        repository.deleteById(todo.getId());
+        long version = counters.add(todo.getUserId(), TodoCounts.of(todo).times(-1));
+        tombstones.saveAll(todo.getUserId(), List.of(todo.getId()), version);
+    }
+
+    private void assertShardsHoldOnlyTheirOwnUsers(List<TodoShard> shards) {
+        ConsistentHashRing<TodoShard> ring = ring(shards);
+        for (TodoShard shard : shards) {
+            assertThat(shard.userIds()).allSatisfy(userId -> assertThat(ring.locate(userId)).isSameAs(shard));
+        }
+    }
+
+    private static ConsistentHashRing<TodoShard> ring(List<TodoShard> shards) {
+        Map<String, TodoShard> byName = new LinkedHashMap<>();
+        shards.forEach(shard -> byName.put(shard.name(), shard));
+        return new ConsistentHashRing<>(byName, 64);
+    }
+
+    private static TodoShard shard(String name) {
+        return new TodoShard("shard-" + name, database(name));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:shard-" + name + ";MODE=PostgreSQL");
+        dataSource.setPoolName("shard-" + name + "-" + System.nanoTime());
+        return dataSource;
+    }
+}
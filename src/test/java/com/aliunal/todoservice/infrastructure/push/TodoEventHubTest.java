@@ -0,0 +1,142 @@
+package com.aliunal.todoservice.infrastructure.push;
+
+import com.aliunal.todoservice.domain.todo.service.TodoService;
+import com.aliunal.todoservice.infrastructure.security.JwtTokenProvider;
+import com.aliunal.todoservice.shared.dto.TodoRequest;
+import com.aliunal.todoservice.shared.dto.TodoResponse;
+import com.aliunal.todoservice.shared.enums.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the Server-Sent Events push channel: delivery, per-user isolation and Last-Event-ID resume
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TodoEventHubTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Committed changes reach only the owner's stream, and a reconnect resumes after Last-Event-ID")
+    void events_ShouldBePushedToOwnerAndReplayedOnReconnect() throws Exception {
+        Long userId = 7801L;
+        try (EventStream stream = open(userId, null)) {
+            TodoResponse todo = todoService.createForUser(new TodoRequest("Pushed", null, false, Priority.LOW), userId);
+            todoService.createForUser(new TodoRequest("Someone else's", null, false, Priority.LOW), 7802L);
+            todoService.updateForUser(todo.id(), new TodoRequest("Pushed", null, true, null), userId);
+
+            Map<String, String> created = stream.next();
+            assertThat(created).containsEntry("event", "created");
+            assertThat(created.get("data")).contains("\"title\":\"Pushed\"");
+            Map<String, String> toggled = stream.next();
+            assertThat(toggled).containsEntry("event", "updated");
+            assertThat(toggled.get("data")).contains("\"done\":true");
+            assertThat(Long.parseLong(toggled.get("id"))).isGreaterThan(Long.parseLong(created.get("id")));
+
+            todoService.deleteForUser(todo.id(), userId);
+            Map<String, String> deleted = stream.next();
+            assertThat(deleted).containsEntry("event", "deleted");
+
+            try (EventStream resumed = open(userId, created.get("id"))) {
+                assertThat(resumed.next()).containsEntry("event", "updated").containsEntry("id", toggled.get("id"));
+                assertThat(resumed.next()).containsEntry("event", "deleted").containsEntry("id", deleted.get("id"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Resuming from an event that is no longer buffered yields a resync event")
+    void unknownLastEventId_ShouldRequestResync() throws Exception {
+        try (EventStream stream = open(7803L, "1")) {
+            assertThat(stream.next()).containsEntry("event", TodoEventHub.RESYNC);
+        }
+    }
+
+    private EventStream open(Long userId, String lastEventId) throws Exception {
+        String token = jwtTokenProvider.generateAccessToken(userId, "push" + userId + "@example.com", "push" + userId);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/todos/events"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new EventStream(response.body());
+    }
+
+    /**
+     * Parses the stream on a background thread into events (field name to value), skipping comments
+     */
+    static final class EventStream implements AutoCloseable {
+
+        private final InputStream body;
+        private final BlockingQueue<Map<String, String>> events = new LinkedBlockingQueue<>();
+
+        EventStream(InputStream body) {
+            this.body = body;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        Map<String, String> next() throws InterruptedException {
+            Map<String, String> event = events.poll(10, TimeUnit.SECONDS);
+            assertThat(event).as("event within 10s").isNotNull();
+            return event;
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                Map<String, String> event = new LinkedHashMap<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (event.containsKey("event")) {
+                            events.add(event);
+                        }
+                        event = new LinkedHashMap<>();
+                    } else if (!line.startsWith(":")) {
+                        int colon = line.indexOf(':');
+                        event.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+                    }
+                }
+            } catch (Exception ignored) {
+                // Stream closed by the test
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            body.close();
+        }
+    }
+}
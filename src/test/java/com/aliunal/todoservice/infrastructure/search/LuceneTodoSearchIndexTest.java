@@ -0,0 +1,72 @@
+package com.aliunal.todoservice.infrastructure.search;
+
+import com.aliunal.todoservice.domain.todo.repository.TodoSearchDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the embedded Lucene todo search index
+ */
+class LuceneTodoSearchIndexTest {
+
+    private LuceneTodoSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new LuceneTodoSearchIndex("");
+        index.upsert(new TodoSearchDocument(1L, 10L, "Buy groceries", "Milk, eggs and bread", false));
+        index.upsert(new TodoSearchDocument(2L, 10L, "Call the bakery", "Order bread for the party", true));
+        index.upsert(new TodoSearchDocument(3L, 10L, "Write report", null, false));
+        index.upsert(new TodoSearchDocument(4L, 20L, "Bread baking class", "Sourdough", false));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Matches title and description of the user's todos only, title matches first")
+    void search_ShouldRankTitleAboveDescriptionWithinUser() {
+        assertThat(index.search(10L, "bread", null, 10)).containsExactly(1L, 2L);
+        assertThat(index.search(20L, "BREAD", null, 10)).containsExactly(4L);
+        assertThat(index.search(null, "bread", null, 10)).containsExactlyInAnyOrder(1L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Combines terms with AND and supports prefixes and the done filter")
+    void search_ShouldSupportOperatorsAndDoneFilter() {
+        assertThat(index.search(10L, "bread party", null, 10)).containsExactly(2L);
+        assertThat(index.search(10L, "rep*", null, 10)).containsExactly(3L);
+        assertThat(index.search(10L, "bread", true, 10)).containsExactly(2L);
+        assertThat(index.search(10L, "bread -party", null, 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Updates and deletes are visible to the next search")
+    void upsertAndDelete_ShouldBeSearchableImmediately() {
+        index.upsert(new TodoSearchDocument(3L, 10L, "Write bread recipe", null, false));
+        index.delete(1L);
+
+        assertThat(index.search(10L, "bread", null, 10)).containsExactly(3L, 2L);
+        assertThat(index.search(10L, "report", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Rebuild replaces the whole index content")
+    void rebuild_ShouldReplaceContent() {
+        index.rebuild(Stream.of(new TodoSearchDocument(9L, 10L, "Fresh start", null, false)));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(10L, "bread", null, 10)).isEmpty();
+        assertThat(index.search(10L, "fresh", null, 10)).containsExactly(9L);
+    }
+}
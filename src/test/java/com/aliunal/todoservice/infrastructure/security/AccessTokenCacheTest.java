@@ -0,0 +1,69 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the verified access token cache
+ */
+class AccessTokenCacheTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hmac-sha";
+
+    @Test
+    @DisplayName("A token is verified once and then served from the cache")
+    void parseAccessToken_ShouldVerifyOncePerToken() {
+        CountingProvider provider = new CountingProvider(60_000);
+        AccessTokenCache cache = new AccessTokenCache(provider, new SimpleMeterRegistry(), 100);
+        String token = provider.generateAccessToken(7L, "grace@example.com", "grace");
+
+        assertThat(cache.parseAccessToken(token)).map(JwtPrincipal::userId).contains(7L);
+        assertThat(cache.parseAccessToken(token)).map(JwtPrincipal::userId).contains(7L);
+        assertThat(provider.parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Invalid tokens are never cached")
+    void parseAccessToken_ShouldNotCacheInvalidTokens() {
+        CountingProvider provider = new CountingProvider(60_000);
+        AccessTokenCache cache = new AccessTokenCache(provider, new SimpleMeterRegistry(), 100);
+        String refresh = provider.generateRefreshToken(7L, "grace@example.com");
+
+        assertThat(cache.parseAccessToken(refresh)).isEmpty();
+        assertThat(cache.parseAccessToken(refresh)).isEmpty();
+        assertThat(provider.parses.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cached tokens stop being accepted at their own expiry")
+    void parseAccessToken_ShouldHonourTokenExpiry() throws InterruptedException {
+        CountingProvider provider = new CountingProvider(1_000);
+        AccessTokenCache cache = new AccessTokenCache(provider, new SimpleMeterRegistry(), 100);
+        String token = provider.generateAccessToken(7L, "grace@example.com", "grace");
+
+        assertThat(cache.parseAccessToken(token)).isPresent();
+        Thread.sleep(2_000);
+        assertThat(cache.parseAccessToken(token)).isEmpty();
+    }
+
+    private static class CountingProvider extends JwtTokenProvider {
+
+        final AtomicInteger parses = new AtomicInteger();
+
+        CountingProvider(long accessTokenValidityInMs) {
+            super(SECRET, accessTokenValidityInMs, 120_000);
+        }
+
+        @Override
+        public Optional<JwtPrincipal> parseAccessToken(String token) {
+            parses.incrementAndGet();
+            return super.parseAccessToken(token);
+        }
+    }
+}
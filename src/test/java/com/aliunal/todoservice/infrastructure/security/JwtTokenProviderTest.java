@@ -0,0 +1,50 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the single-parse token API of JwtTokenProvider
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hmac-sha";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 120_000);
+
+    @Test
+    @DisplayName("A valid access token yields its principal")
+    void parseAccessToken_ShouldReturnPrincipal() {
+        String token = provider.generateAccessToken(42L, "ada@example.com", "ada");
+
+        assertThat(provider.parseAccessToken(token)).hasValueSatisfying(principal -> {
+            assertThat(principal.userId()).isEqualTo(42L);
+            assertThat(principal.email()).isEqualTo("ada@example.com");
+            assertThat(principal.username()).isEqualTo("ada");
+            assertThat(principal.expiresAt()).isAfter(Instant.now());
+        });
+    }
+
+    @Test
+    @DisplayName("Refresh, tampered, foreign and expired tokens are not accepted as access tokens")
+    void parseAccessToken_ShouldRejectInvalidTokens() {
+        String refresh = provider.generateRefreshToken(42L, "ada@example.com");
+        String access = provider.generateAccessToken(42L, "ada@example.com", "ada");
+        String foreign = new JwtTokenProvider(SECRET + "-other", 60_000, 120_000)
+                .generateAccessToken(42L, "ada@example.com", "ada");
+        String expired = new JwtTokenProvider(SECRET, -1_000, 120_000)
+                .generateAccessToken(42L, "ada@example.com", "ada");
+
+        assertThat(provider.parseAccessToken(refresh)).isEmpty();
+        assertThat(provider.parseAccessToken(access.substring(0, access.length() - 2) + "xx")).isEmpty();
+        assertThat(provider.parseAccessToken(foreign)).isEmpty();
+        assertThat(provider.parseAccessToken(expired)).isEmpty();
+        assertThat(provider.parseAccessToken("not-a-jwt")).isEmpty();
+        assertThat(provider.parseRefreshToken(refresh)).contains(42L);
+        assertThat(provider.parseRefreshToken(access)).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the separate management port: Prometheus scrapes it without a token, the application port
+ * keeps actuator behind an admin token
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    @LocalServerPort
+    int port;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Autowired
+    JwtTokenProvider jwtTokenProvider;
+
+    final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Prometheus is open on the management port only; other actuator endpoints need an admin there too")
+    void prometheus_ShouldBeOpenOnManagementPortOnly() throws Exception {
+        assertThat(managementPort).isNotEqualTo(port);
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body()).contains("jvm_gc_");
+
+        // Refused on the application port, even for signed-in users (TodoMetricsTest checks the 403 via MockMvc)
+        assertThat(get(port, "/actuator/prometheus", null).statusCode()).isNotEqualTo(200);
+        String user = jwtTokenProvider.generateAccessToken(8011L, "scraper@example.com", "scraper");
+        assertThat(get(port, "/actuator/prometheus", user).statusCode()).isNotEqualTo(200);
+        assertThat(get(managementPort, "/actuator/metrics", user).statusCode()).isNotEqualTo(200);
+
+        String admin = jwtTokenProvider.generateAccessToken(8000L, "admin@example.com", "admin");
+        assertThat(get(managementPort, "/actuator/metrics", admin).statusCode()).isEqualTo(200);
+        assertThat(get(port, "/readyz", null).statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(int port, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,51 @@
+package com.aliunal.todoservice.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the bounded password hashing executor
+ */
+class PasswordHashingExecutorTest {
+
+    @Test
+    @DisplayName("Work beyond the pool and queue is rejected immediately")
+    void submit_ShouldRejectWhenSaturated() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+
+            assertThatThrownBy(() -> executor.submit(() -> true))
+                .isInstanceOf(RejectedExecutionException.class);
+            assertThat(registry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(running.get()).isTrue();
+            assertThat(queued.get()).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package db.migration;
+
+import com.aliunal.todoservice.domain.todo.entity.Todo;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the V3 Java migration that replaces identity ids with pooled sequences
+ */
+class PooledIdSequenceMigrationTest {
+
+    @Test
+    @DisplayName("Sequences start after the highest existing id and step by the entities' allocation size")
+    void migrate_ShouldStartSequencesAfterExistingIds() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:v3-existing;MODE=PostgreSQL");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+            statement.execute("CREATE TABLE todos (id BIGINT PRIMARY KEY)");
+            statement.execute("INSERT INTO users VALUES (3), (7)");
+            statement.execute("INSERT INTO todos VALUES (1), (120), (42)");
+
+            new V3__use_pooled_id_sequences().migrate(context(connection));
+
+            assertThat(nextValue(statement, "users_seq")).isEqualTo(8);
+            assertThat(nextValue(statement, "todos_seq")).isEqualTo(121);
+            assertThat(nextValue(statement, "todos_seq")).isEqualTo(121 + Todo.ID_ALLOCATION_SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("On empty tables both sequences start at 1")
+    void migrate_ShouldStartAtOneOnEmptyTables() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:v3-empty;MODE=PostgreSQL");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+            statement.execute("CREATE TABLE todos (id BIGINT PRIMARY KEY)");
+
+            new V3__use_pooled_id_sequences().migrate(context(connection));
+
+            assertThat(nextValue(statement, "users_seq")).isEqualTo(1);
+            assertThat(nextValue(statement, "todos_seq")).isEqualTo(1);
+        }
+    }
+
+    private static Context context(Connection connection) {
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(connection);
+        return context;
+    }
+
+    private static long nextValue(Statement statement, String sequence) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR " + sequence)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}